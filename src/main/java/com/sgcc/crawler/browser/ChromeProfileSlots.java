@@ -0,0 +1,272 @@
+package com.sgcc.crawler.browser;
+
+import com.sgcc.crawler.config.CrawlerConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Chrome持久化用户目录槽位
+ * 池中每个浏览器独占一个槽位目录作为 --user-data-dir，门户的SPA脚本、样式等静态资源从本地磁盘缓存加载；
+ * 槽位同时以进程内集合和目录下的文件锁加锁，保证同一目录不会被两个浏览器（包括其他进程）同时使用；
+ * 空闲槽位定期检查，超过最大寿命或体积上限的用户目录整体清空重建
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChromeProfileSlots {
+
+    private static final String LOCK_FILE = "slot.lock";
+    private static final String PROFILE_DIR = "profile";
+
+    /**
+     * 用户目录创建时间记录（毫秒时间戳），与用户目录同级存放；文件系统的创建时间在部分平台上回退为修改时间，不能用于判断寿命
+     */
+    private static final String CREATED_FILE = "profile.created";
+
+    /**
+     * Chrome自身的单实例锁文件，容器重启后主机名变化会导致Chrome拒绝使用该目录，持有槽位锁后可安全删除
+     */
+    private static final List<String> SINGLETON_FILES = List.of("SingletonLock", "SingletonSocket", "SingletonCookie");
+
+    private final CrawlerConfig crawlerConfig;
+
+    /**
+     * 本进程已占用的槽位序号
+     */
+    private final Set<Integer> leased = new HashSet<>();
+
+    public boolean isEnabled() {
+        return crawlerConfig.isProfilePersistEnabled();
+    }
+
+    /**
+     * 占用一个空闲槽位，无可用槽位（或未启用）时返回 null，调用方使用临时用户目录
+     */
+    public Slot acquire() {
+        if (!isEnabled()) {
+            return null;
+        }
+        int slots = Math.max(1, crawlerConfig.getDriverPoolMaxSize());
+        for (int index = 0; index < slots; index++) {
+            synchronized (leased) {
+                if (leased.contains(index)) {
+                    continue;
+                }
+                Slot slot = tryLock(index);
+                if (slot == null) {
+                    continue;
+                }
+                leased.add(index);
+                try {
+                    if (isStale(slot.profileDir)) {
+                        wipe(slot);
+                    }
+                    if (!Files.exists(slot.profileDir)) {
+                        Files.createDirectories(slot.profileDir);
+                        Files.writeString(createdFile(slot.profileDir), String.valueOf(System.currentTimeMillis()));
+                    }
+                    for (String name : SINGLETON_FILES) {
+                        Files.deleteIfExists(slot.profileDir.resolve(name));
+                    }
+                } catch (IOException e) {
+                    log.warn("准备浏览器用户目录失败: {}, {}", slot.profileDir, e.getMessage());
+                    release(slot);
+                    continue;
+                }
+                log.debug("占用浏览器用户目录槽位 {}", index);
+                return slot;
+            }
+        }
+        log.warn("浏览器用户目录槽位均被占用，本次使用临时用户目录");
+        return null;
+    }
+
+    /**
+     * 释放槽位（浏览器退出后调用）
+     */
+    public void release(Slot slot) {
+        if (slot == null) {
+            return;
+        }
+        synchronized (leased) {
+            unlock(slot);
+            leased.remove(slot.index);
+        }
+    }
+
+    /**
+     * 定期清理空闲槽位中超过寿命或体积上限的用户目录
+     */
+    @Scheduled(fixedDelay = 1800000, initialDelay = 300000)
+    public void cleanup() {
+        if (!isEnabled()) {
+            return;
+        }
+        int slots = Math.max(1, crawlerConfig.getDriverPoolMaxSize());
+        int wiped = 0;
+        for (int index = 0; index < slots; index++) {
+            synchronized (leased) {
+                if (leased.contains(index)) {
+                    continue;
+                }
+                Slot slot = tryLock(index);
+                if (slot == null) {
+                    continue;
+                }
+                try {
+                    if (Files.exists(slot.profileDir) && (isStale(slot.profileDir) || isOversized(slot.profileDir))) {
+                        wipe(slot);
+                        wiped++;
+                    }
+                } catch (IOException e) {
+                    log.warn("清理浏览器用户目录失败: {}, {}", slot.profileDir, e.getMessage());
+                } finally {
+                    unlock(slot);
+                }
+            }
+        }
+        if (wiped > 0) {
+            log.info("已清理浏览器用户目录 {} 个", wiped);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("baseDir", crawlerConfig.getProfileBaseDir());
+        synchronized (leased) {
+            stats.put("leased", leased.size());
+        }
+        return stats;
+    }
+
+    /**
+     * 创建槽位目录并尝试获取文件锁，已被其他进程占用时返回 null
+     */
+    private Slot tryLock(int index) {
+        Path slotDir = Paths.get(crawlerConfig.getProfileBaseDir(), "slot-" + index).toAbsolutePath();
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(slotDir);
+            channel = FileChannel.open(slotDir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                channel.close();
+                return null;
+            }
+            return new Slot(index, slotDir.resolve(PROFILE_DIR), channel, lock);
+        } catch (IOException | OverlappingFileLockException e) {
+            log.debug("获取浏览器用户目录槽位 {} 失败: {}", index, e.getMessage());
+            closeQuietly(channel);
+            return null;
+        }
+    }
+
+    private void unlock(Slot slot) {
+        try {
+            slot.lock.release();
+        } catch (IOException e) {
+            log.debug("释放槽位文件锁失败: {}", e.getMessage());
+        }
+        closeQuietly(slot.channel);
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 忽略
+        }
+    }
+
+    private void wipe(Slot slot) throws IOException {
+        FileSystemUtils.deleteRecursively(slot.profileDir);
+        Files.deleteIfExists(createdFile(slot.profileDir));
+        log.info("浏览器用户目录已清空重建: 槽位 {}", slot.index);
+    }
+
+    /**
+     * 用户目录创建时间超过 profile-max-age-hours 视为过期
+     * 缺少或无法解析创建时间记录（旧版本创建的目录）时同样视为过期，清空重建后重新记录
+     */
+    private boolean isStale(Path profileDir) throws IOException {
+        if (!Files.exists(profileDir)) {
+            return false;
+        }
+        long createdAt;
+        try {
+            createdAt = Long.parseLong(Files.readString(createdFile(profileDir)).trim());
+        } catch (NoSuchFileException | NumberFormatException e) {
+            return true;
+        }
+        long ageMillis = System.currentTimeMillis() - createdAt;
+        return ageMillis > crawlerConfig.getProfileMaxAgeHours() * 3600000L;
+    }
+
+    private Path createdFile(Path profileDir) {
+        return profileDir.resolveSibling(CREATED_FILE);
+    }
+
+    /**
+     * 用户目录总大小超过 profile-max-size-mb 视为超限（磁盘缓存之外还有代码缓存、Service Worker等目录）
+     */
+    private boolean isOversized(Path profileDir) throws IOException {
+        long limit = crawlerConfig.getProfileMaxSizeMb() * 1024L * 1024L;
+        try (Stream<Path> files = Files.walk(profileDir)) {
+            long total = files.filter(Files::isRegularFile).mapToLong(path -> {
+                try {
+                    return Files.size(path);
+                } catch (IOException e) {
+                    return 0L;
+                }
+            }).sum();
+            return total > limit;
+        }
+    }
+
+    /**
+     * 已占用的槽位
+     */
+    public static final class Slot {
+        private final int index;
+        private final Path profileDir;
+        private final FileChannel channel;
+        private final FileLock lock;
+
+        private Slot(int index, Path profileDir, FileChannel channel, FileLock lock) {
+            this.index = index;
+            this.profileDir = profileDir;
+            this.channel = channel;
+            this.lock = lock;
+        }
+
+        /**
+         * 传给Chrome的 --user-data-dir
+         */
+        public Path getProfileDir() {
+            return profileDir;
+        }
+    }
+}
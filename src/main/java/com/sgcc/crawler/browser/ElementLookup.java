@@ -0,0 +1,50 @@
+package com.sgcc.crawler.browser;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 零等待元素探测
+ * 浏览器不设置隐式等待，元素查找分为两种语义：
+ * probe：立即返回，元素不存在时返回 null 或空列表，用于可选字段、候选选择器及兜底查找；
+ * require：显式等待元素出现，超时抛出异常，用于必须存在的页面锚点，见 PageWaiter#require
+ */
+public final class ElementLookup {
+
+    private ElementLookup() {
+    }
+
+    /**
+     * 查找第一个匹配的元素，不存在返回 null
+     */
+    public static WebElement probe(SearchContext context, By locator) {
+        List<WebElement> elements = probeAll(context, locator);
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+
+    /**
+     * 查找全部匹配的元素，不存在、查找起点已失效或选择器无效时返回空列表
+     * 会话断开等浏览器级异常照常抛出，由借用方作废该浏览器
+     */
+    public static List<WebElement> probeAll(SearchContext context, By locator) {
+        try {
+            return context.findElements(locator);
+        } catch (NoSuchElementException | StaleElementReferenceException | InvalidSelectorException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 是否存在匹配的元素
+     */
+    public static boolean exists(SearchContext context, By locator) {
+        return !probeAll(context, locator).isEmpty();
+    }
+}
@@ -0,0 +1,161 @@
+package com.sgcc.crawler.browser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 列表分页器
+ * 操作门户列表下方的 el-pagination 组件：读取当前页/末页、点击下一页、跳转到指定页
+ * 翻页后以首行内容发生变化作为新页加载完成的依据（Element UI 会复用表格行节点，不能依赖元素失效）
+ */
+@Slf4j
+public class ListPaginator {
+
+    /**
+     * 返回 [当前页, 是否有下一页, 末页页码]，页面没有分页组件时返回 null
+     */
+    private static final String STATE_SCRIPT =
+            "var p = document.querySelector('.el-pagination');" +
+            "if (!p) return null;" +
+            "var active = p.querySelector('.el-pager li.active');" +
+            "var next = p.querySelector('.btn-next');" +
+            "var numbers = p.querySelectorAll('.el-pager li.number');" +
+            "var hasNext = !!next && !next.disabled && !next.classList.contains('is-disabled');" +
+            "return [active ? active.innerText.trim() : '1', hasNext," +
+            "  numbers.length ? numbers[numbers.length - 1].innerText.trim() : '1'];";
+
+    private static final String CLICK_NEXT_SCRIPT =
+            "var next = document.querySelector('.el-pagination .btn-next');" +
+            "if (!next || next.disabled) return false;" +
+            "next.click(); return true;";
+
+    /**
+     * 优先使用"前往"输入框跳页，其次点击可见的页码
+     */
+    private static final String JUMP_SCRIPT =
+            "var page = String(arguments[0]);" +
+            "var input = document.querySelector('.el-pagination__jump input');" +
+            "if (input) {" +
+            "  input.value = page;" +
+            "  input.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  input.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  input.dispatchEvent(new KeyboardEvent('keyup', {key: 'Enter', keyCode: 13, bubbles: true}));" +
+            "  return true;" +
+            "}" +
+            "var items = document.querySelectorAll('.el-pagination .el-pager li.number');" +
+            "for (var i = 0; i < items.length; i++) {" +
+            "  if (items[i].innerText.trim() === page) { items[i].click(); return true; }" +
+            "}" +
+            "return false;";
+
+    private final WebDriver driver;
+    private final Supplier<String> rowSignature;
+    private final Duration timeout;
+
+    /**
+     * @param rowSignature 当前列表首行内容，用于判断翻页是否完成
+     * @param timeout 等待新页加载的超时时间
+     */
+    public ListPaginator(WebDriver driver, Supplier<String> rowSignature, Duration timeout) {
+        this.driver = driver;
+        this.rowSignature = rowSignature;
+        this.timeout = timeout;
+    }
+
+    /**
+     * 当前页码（无分页组件时视为第1页）
+     */
+    public int currentPage() {
+        List<?> state = state();
+        return state != null ? toInt(state.get(0), 1) : 1;
+    }
+
+    /**
+     * 末页页码（无分页组件时视为1）
+     */
+    public int lastPage() {
+        List<?> state = state();
+        return state != null ? toInt(state.get(2), 1) : 1;
+    }
+
+    /**
+     * 是否存在可点击的下一页
+     */
+    public boolean hasNextPage() {
+        List<?> state = state();
+        return state != null && Boolean.TRUE.equals(state.get(1));
+    }
+
+    /**
+     * 翻到下一页并等待新页内容加载
+     * @return 翻页成功返回 true
+     */
+    public boolean nextPage() {
+        int expected = currentPage() + 1;
+        String before = rowSignature.get();
+        Object clicked = ((JavascriptExecutor) driver).executeScript(CLICK_NEXT_SCRIPT);
+        if (!Boolean.TRUE.equals(clicked)) {
+            return false;
+        }
+        return awaitPage(expected, before);
+    }
+
+    /**
+     * 跳转到指定页并等待内容加载，当前已在该页时直接返回
+     * 跳页组件不可用时逐页点击下一页
+     */
+    public boolean goToPage(int page) {
+        int current = currentPage();
+        if (current == page) {
+            return true;
+        }
+        String before = rowSignature.get();
+        Object jumped = ((JavascriptExecutor) driver).executeScript(JUMP_SCRIPT, page);
+        if (Boolean.TRUE.equals(jumped) && awaitPage(page, before)) {
+            return true;
+        }
+        while (current < page) {
+            if (!nextPage()) {
+                return false;
+            }
+            current = currentPage();
+        }
+        return current == page;
+    }
+
+    private boolean awaitPage(int expected, String before) {
+        try {
+            new WebDriverWait(driver, timeout).until(d ->
+                    currentPage() == expected && !Objects.equals(rowSignature.get(), before));
+            return true;
+        } catch (Exception e) {
+            log.warn("等待第 {} 页加载超时: {}", expected, e.getMessage());
+            return false;
+        }
+    }
+
+    private List<?> state() {
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeScript(STATE_SCRIPT);
+            return raw instanceof List<?> list && list.size() == 3 ? list : null;
+        } catch (Exception e) {
+            log.debug("读取分页状态失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private int toInt(Object value, int defaultValue) {
+        try {
+            return Integer.parseInt(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
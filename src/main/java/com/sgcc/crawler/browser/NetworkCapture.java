@@ -0,0 +1,235 @@
+package com.sgcc.crawler.browser;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * 基于 Chrome DevTools 的网络响应捕获
+ * 订阅 Network.responseReceived / loadingFinished 事件，记录匹配URL的请求，
+ * 在调用方线程中通过 Network.getResponseBody 取回响应体（避免在CDP事件线程中发送命令）
+ * 命令与事件按 CDP 方法名直接收发、负载按 Map 读取，不依赖 Selenium 按浏览器版本生成的
+ * devtools.vNNN 类，浏览器升级后无需跟随调整
+ * 一个 WebDriver 同一时刻只能绑定一个 DevTools 会话，切换窗口前需先关闭上一个捕获
+ */
+@Slf4j
+public class NetworkCapture implements AutoCloseable {
+
+    private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT = event("Network.requestWillBeSent");
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED = event("Network.responseReceived");
+    private static final Event<Map<String, Object>> LOADING_FINISHED = event("Network.loadingFinished");
+    private static final Event<Map<String, Object>> LOADING_FAILED = event("Network.loadingFailed");
+
+    private final DevTools devTools;
+    private final Map<String, CapturedResponse> pending = new ConcurrentHashMap<>();
+    private final Queue<String> finished = new ConcurrentLinkedQueue<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile long lastActivity = System.currentTimeMillis();
+    private volatile boolean closed = false;
+
+    private NetworkCapture(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * 在指定窗口上开启网络捕获
+     * @param urlFilter 需要捕获的响应URL过滤条件
+     * @return 捕获器，浏览器不支持DevTools或连接失败时返回 null
+     */
+    public static NetworkCapture attach(WebDriver driver, String windowHandle, Predicate<String> urlFilter) {
+        if (!(driver instanceof HasDevTools hasDevTools)) {
+            log.warn("当前WebDriver不支持DevTools，无法开启网络捕获");
+            return null;
+        }
+        try {
+            DevTools devTools = hasDevTools.getDevTools();
+            devTools.createSession(windowHandle);
+
+            NetworkCapture capture = new NetworkCapture(devTools);
+            devTools.send(command("Network.enable", Map.of()));
+            devTools.addListener(REQUEST_WILL_BE_SENT, event -> {
+                capture.inFlight.add(requestId(event));
+                capture.lastActivity = System.currentTimeMillis();
+            });
+            devTools.addListener(RESPONSE_RECEIVED, event -> {
+                if (!(event.get("response") instanceof Map<?, ?> response)) {
+                    return;
+                }
+                String url = String.valueOf(response.get("url"));
+                if (urlFilter.test(url)) {
+                    Integer status = response.get("status") instanceof Number number ? number.intValue() : null;
+                    capture.pending.put(requestId(event), new CapturedResponse(url, status, null));
+                }
+            });
+            devTools.addListener(LOADING_FINISHED, event -> {
+                String requestId = requestId(event);
+                capture.inFlight.remove(requestId);
+                capture.lastActivity = System.currentTimeMillis();
+                if (capture.pending.containsKey(requestId)) {
+                    capture.finished.add(requestId);
+                }
+            });
+            devTools.addListener(LOADING_FAILED, event -> {
+                String requestId = requestId(event);
+                capture.inFlight.remove(requestId);
+                capture.lastActivity = System.currentTimeMillis();
+                capture.pending.remove(requestId);
+            });
+            return capture;
+        } catch (Exception e) {
+            log.warn("开启网络捕获失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 取出目前已加载完成的全部匹配响应
+     */
+    public List<CapturedResponse> drain() {
+        List<CapturedResponse> responses = new ArrayList<>();
+        String requestId;
+        while ((requestId = finished.poll()) != null) {
+            CapturedResponse meta = pending.remove(requestId);
+            if (meta == null) {
+                continue;
+            }
+            try {
+                Map<String, Object> body = devTools.send(command("Network.getResponseBody", Map.of("requestId", requestId)));
+                String raw = (String) body.get("body");
+                String text = raw != null && Boolean.TRUE.equals(body.get("base64Encoded"))
+                        ? new String(Base64.getDecoder().decode(raw), StandardCharsets.UTF_8)
+                        : raw;
+                responses.add(new CapturedResponse(meta.getUrl(), meta.getStatus(), text));
+            } catch (Exception e) {
+                log.debug("获取响应体失败 {}: {}", meta.getUrl(), e.getMessage());
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * 等待第一个满足条件的响应，超时返回 null
+     */
+    public CapturedResponse await(Predicate<CapturedResponse> condition, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!closed) {
+            for (CapturedResponse response : drain()) {
+                if (condition.test(response)) {
+                    return response;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return null;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 等待响应静默后返回最后一个成功响应
+     * 收到响应后若 quietMillis 内没有新的匹配响应即视为结束；超时仍未收到则返回 null
+     */
+    public CapturedResponse awaitLast(long timeoutMillis, long quietMillis) {
+        CapturedResponse last = null;
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long quietUntil = Long.MAX_VALUE;
+        while (!closed && System.currentTimeMillis() < deadline) {
+            for (CapturedResponse response : drain()) {
+                if (response.getStatus() != null && response.getStatus() == 200) {
+                    last = response;
+                    quietUntil = System.currentTimeMillis() + quietMillis;
+                }
+            }
+            if (last != null && System.currentTimeMillis() >= quietUntil) {
+                break;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * 等待网络静默：没有在途请求且 quietMillis 内无新的网络活动
+     * @return 超时前达到静默返回 true
+     */
+    public boolean awaitIdle(long quietMillis, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!closed && System.currentTimeMillis() < deadline) {
+            if (inFlight.isEmpty() && System.currentTimeMillis() - lastActivity >= quietMillis) {
+                return true;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            devTools.clearListeners();
+            devTools.send(command("Network.disable", Map.of()));
+        } catch (Exception e) {
+            log.debug("关闭网络捕获失败: {}", e.getMessage());
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static Command<Map<String, Object>> command(String method, Map<String, Object> params) {
+        return new Command<>(method, params, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static String requestId(Map<String, Object> event) {
+        return String.valueOf(event.get("requestId"));
+    }
+
+    /**
+     * 捕获到的响应
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CapturedResponse {
+        private final String url;
+        private final Integer status;
+        private final String body;
+    }
+}
@@ -0,0 +1,170 @@
+package com.sgcc.crawler.browser;
+
+import com.sgcc.crawler.config.CrawlerConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 页面就绪等待
+ * 以具体的就绪信号（文档加载完成、目标元素出现、加载遮罩消失、网络静默、列表行数稳定）代替固定时长的随机休眠，
+ * 页面已就绪时立即返回；礼貌性间隔由可选的小幅随机抖动提供
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PageWaiter {
+
+    private static final String LOADING_DONE_SCRIPT =
+            "var masks = document.querySelectorAll('.el-loading-mask');" +
+            "for (var i = 0; i < masks.length; i++) { if (masks[i].offsetParent !== null) return false; }" +
+            "return true;";
+
+    private static final String RESOURCE_COUNT_SCRIPT =
+            "return window.performance && performance.getEntriesByType" +
+            "  ? performance.getEntriesByType('resource').length : 0;";
+
+    private static final Random random = new Random();
+
+    private final CrawlerConfig crawlerConfig;
+
+    /**
+     * 在元素等待超时时间内等待条件成立
+     * @return 条件的结果，超时返回 null
+     */
+    public <T> T await(WebDriver driver, Function<WebDriver, T> condition) {
+        return await(driver, condition, Duration.ofSeconds(crawlerConfig.getElementWaitTimeout()));
+    }
+
+    /**
+     * 在指定时间内等待条件成立（结果非 null 且非 false）
+     * @return 条件的结果，超时返回 null
+     */
+    public <T> T await(WebDriver driver, Function<WebDriver, T> condition, Duration timeout) {
+        try {
+            return new WebDriverWait(driver, timeout, Duration.ofMillis(crawlerConfig.getWaitPollMillis()))
+                    .until(condition::apply);
+        } catch (Exception e) {
+            log.debug("等待条件超时: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 等待元素出现（require 语义），超时抛出 TimeoutException
+     * 可选元素请使用零等待的 ElementLookup#probe
+     */
+    public WebElement require(WebDriver driver, By locator) {
+        WebElement element = await(driver, d -> ElementLookup.probe(d, locator));
+        if (element == null) {
+            throw new TimeoutException("等待元素超时: " + locator);
+        }
+        return element;
+    }
+
+    /**
+     * 等待 document.readyState 为 complete
+     */
+    public boolean documentReady(WebDriver driver) {
+        return await(driver, d -> "complete".equals(script(d, "return document.readyState;"))) != null;
+    }
+
+    /**
+     * 等待任一定位器对应的元素出现
+     */
+    public boolean anyPresent(WebDriver driver, By... locators) {
+        return await(driver, d -> {
+            for (By locator : locators) {
+                if (ElementLookup.exists(d, locator)) {
+                    return true;
+                }
+            }
+            return null;
+        }) != null;
+    }
+
+    /**
+     * 等待 Element UI 加载遮罩消失
+     */
+    public boolean loadingDone(WebDriver driver) {
+        return await(driver, d -> Boolean.TRUE.equals(script(d, LOADING_DONE_SCRIPT)) ? true : null) != null;
+    }
+
+    /**
+     * 等待行数大于0且在静默时间内保持不变
+     */
+    public boolean rowCountStable(WebDriver driver, Supplier<Integer> rowCount) {
+        return stable(driver, rowCount, true);
+    }
+
+    /**
+     * 等待网络静默
+     * 有CDP网络捕获时按在途请求数判断，否则按 Resource Timing 条目数在静默时间内不再增长判断
+     */
+    public boolean networkIdle(WebDriver driver, NetworkCapture capture) {
+        long quietMillis = crawlerConfig.getWaitQuietMillis();
+        if (capture != null) {
+            return capture.awaitIdle(quietMillis, crawlerConfig.getElementWaitTimeout() * 1000L);
+        }
+        return stable(driver, () -> {
+            Object count = script(driver, RESOURCE_COUNT_SCRIPT);
+            return count instanceof Number n ? n.intValue() : 0;
+        }, false);
+    }
+
+    /**
+     * 礼貌性随机抖动（0 ~ wait-jitter-max-millis 毫秒）
+     */
+    public void jitter() {
+        int max = crawlerConfig.getWaitJitterMaxMillis();
+        if (max > 0) {
+            pause(random.nextInt(max + 1));
+        }
+    }
+
+    /**
+     * 轮询间隔休眠
+     */
+    public void poll() {
+        pause(crawlerConfig.getWaitPollMillis());
+    }
+
+    private boolean stable(WebDriver driver, Supplier<Integer> counter, boolean requirePositive) {
+        long quietMillis = crawlerConfig.getWaitQuietMillis();
+        long[] since = {System.currentTimeMillis()};
+        int[] last = {-1};
+        return await(driver, d -> {
+            int count = counter.get();
+            long now = System.currentTimeMillis();
+            if (count != last[0]) {
+                last[0] = count;
+                since[0] = now;
+                return null;
+            }
+            return (!requirePositive || count > 0) && now - since[0] >= quietMillis ? true : null;
+        }) != null;
+    }
+
+    private Object script(WebDriver driver, String script) {
+        return ((JavascriptExecutor) driver).executeScript(script);
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
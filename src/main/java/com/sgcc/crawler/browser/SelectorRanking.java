@@ -0,0 +1,210 @@
+package com.sgcc.crawler.browser;
+
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.sgcc.crawler.config.CrawlerConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 选择器命中排名
+ * 按 站点+用途 记录每个候选选择器的命中情况，下次优先尝试最近命中的候选；
+ * 连续未命中达到 selector-demote-after 次的候选降到末尾，命中一次即恢复；
+ * 排名定期写入本地文件，重启后继续沿用
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SelectorRanking {
+
+    private final CrawlerConfig crawlerConfig;
+
+    /**
+     * 站点|用途 -> 候选选择器 -> 命中统计
+     */
+    private final Map<String, Map<String, Stats>> rankings = new ConcurrentHashMap<>();
+
+    private volatile boolean dirty = false;
+
+    @PostConstruct
+    public void load() {
+        if (!crawlerConfig.isSelectorRankingEnabled()) {
+            return;
+        }
+        Path file = rankingFile();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            JSONObject json = JSONUtil.parseObj(Files.readString(file, StandardCharsets.UTF_8));
+            for (String key : json.keySet()) {
+                JSONObject candidates = json.getJSONObject(key);
+                Map<String, Stats> stats = new LinkedHashMap<>();
+                for (String candidate : candidates.keySet()) {
+                    JSONObject item = candidates.getJSONObject(candidate);
+                    stats.put(candidate, new Stats(item.getLong("hits", 0L),
+                            item.getInt("misses", 0), item.getLong("lastHit", 0L)));
+                }
+                rankings.put(key, stats);
+            }
+            log.info("已加载选择器排名: {} 组", rankings.size());
+        } catch (Exception e) {
+            log.warn("加载选择器排名失败，将重新统计: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按排名依次尝试候选选择器，返回第一个非 null 的结果
+     * 命中时记录命中者，并为排在它前面且未命中的候选记一次失败；全部未命中不记录（页面本身可能没有该内容）
+     * @param purpose  用途，如 list.rows、detail.label:联系人
+     * @param candidates 候选选择器（默认顺序）
+     * @param attempt  以候选选择器查找，未找到返回 null
+     */
+    public <T> T resolve(String purpose, List<String> candidates, Function<String, T> attempt) {
+        List<String> ordered = order(purpose, candidates);
+        List<String> missed = new ArrayList<>();
+        for (String candidate : ordered) {
+            T result = attempt.apply(candidate);
+            if (result != null) {
+                record(purpose, candidate, missed);
+                return result;
+            }
+            missed.add(candidate);
+        }
+        return null;
+    }
+
+    /**
+     * 候选选择器的尝试顺序：未降级的在前，其中最近命中的优先，其余保持默认顺序
+     */
+    public List<String> order(String purpose, List<String> candidates) {
+        if (!crawlerConfig.isSelectorRankingEnabled()) {
+            return candidates;
+        }
+        Map<String, Stats> stats = rankings.get(key(purpose));
+        if (stats == null) {
+            return candidates;
+        }
+        int demoteAfter = crawlerConfig.getSelectorDemoteAfter();
+        List<String> ordered = new ArrayList<>(candidates);
+        synchronized (stats) {
+            ordered.sort(Comparator
+                    .comparing((String c) -> stats.containsKey(c) && stats.get(c).misses >= demoteAfter)
+                    .thenComparing(c -> stats.containsKey(c) ? -stats.get(c).lastHit : 0L));
+        }
+        return ordered;
+    }
+
+    /**
+     * 记录命中的候选以及排在它前面未命中的候选
+     */
+    public void record(String purpose, String winner, List<String> missed) {
+        if (!crawlerConfig.isSelectorRankingEnabled()) {
+            return;
+        }
+        Map<String, Stats> stats = rankings.computeIfAbsent(key(purpose), k -> new LinkedHashMap<>());
+        synchronized (stats) {
+            for (String candidate : missed) {
+                stats.computeIfAbsent(candidate, c -> new Stats(0, 0, 0)).misses++;
+            }
+            Stats hit = stats.computeIfAbsent(winner, c -> new Stats(0, 0, 0));
+            hit.hits++;
+            hit.misses = 0;
+            hit.lastHit = System.currentTimeMillis();
+        }
+        dirty = true;
+    }
+
+    /**
+     * 定期保存排名
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void flush() {
+        if (!dirty || !crawlerConfig.isSelectorRankingEnabled()) {
+            return;
+        }
+        dirty = false;
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, Map<String, Stats>> entry : rankings.entrySet()) {
+            JSONObject candidates = new JSONObject();
+            synchronized (entry.getValue()) {
+                entry.getValue().forEach((candidate, stats) -> candidates.set(candidate, new JSONObject()
+                        .set("hits", stats.hits).set("misses", stats.misses).set("lastHit", stats.lastHit)));
+            }
+            json.set(entry.getKey(), candidates);
+        }
+        Path file = rankingFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, json.toStringPretty(), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("保存选择器排名失败: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", crawlerConfig.isSelectorRankingEnabled());
+        stats.put("purposes", rankings.size());
+        return stats;
+    }
+
+    private String key(String purpose) {
+        String site;
+        try {
+            site = URI.create(crawlerConfig.getTargetUrl()).getHost();
+        } catch (Exception e) {
+            site = null;
+        }
+        return (site != null ? site : "default") + "|" + purpose;
+    }
+
+    private Path rankingFile() {
+        return Paths.get(crawlerConfig.getSelectorRankingFile()).toAbsolutePath();
+    }
+
+    /**
+     * 单个候选选择器的命中统计
+     */
+    private static final class Stats {
+        private long hits;
+        private int misses;
+        private long lastHit;
+
+        private Stats(long hits, int misses, long lastHit) {
+            this.hits = hits;
+            this.misses = misses;
+            this.lastHit = lastHit;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.sgcc.crawler.browser;
+
+import com.sgcc.crawler.config.CrawlerConfig;
+import com.sgcc.crawler.config.SeleniumConfig;
+import com.sgcc.crawler.metrics.CrawlMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebDriver池
+ * 复用已启动的浏览器，避免每次爬取都冷启动Chrome
+ * 支持借用/归还、空闲回收、最大寿命回收以及借出前的健康检查
+ * 启用持久化用户目录时，每个池化实例独占一个用户目录槽位，实例销毁后释放
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebDriverPool {
+
+    private final SeleniumConfig seleniumConfig;
+    private final CrawlerConfig crawlerConfig;
+    private final CrawlMetrics crawlMetrics;
+    private final ChromeProfileSlots profileSlots;
+
+    /**
+     * 空闲实例（后进先出，优先借出最近使用过的浏览器）
+     */
+    private final Deque<PooledDriver> idle = new ArrayDeque<>();
+
+    /**
+     * 已借出的实例
+     */
+    private final Map<WebDriver, PooledDriver> leased = new IdentityHashMap<>();
+
+    private Semaphore permits;
+
+    private volatile boolean closed = false;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(Math.max(1, crawlerConfig.getDriverPoolMaxSize()), true);
+        log.info("WebDriver池初始化: 启用={}, 最大实例数={}",
+                crawlerConfig.isDriverPoolEnabled(), crawlerConfig.getDriverPoolMaxSize());
+    }
+
+    /**
+     * 借用WebDriver，池满时阻塞等待
+     */
+    public WebDriver borrow() {
+        if (!crawlerConfig.isDriverPoolEnabled()) {
+            return createDriver(null);
+        }
+        if (closed) {
+            throw new IllegalStateException("WebDriver池已关闭");
+        }
+
+        try {
+            if (!permits.tryAcquire(crawlerConfig.getDriverPoolBorrowTimeout(), TimeUnit.SECONDS)) {
+                throw new IllegalStateException("等待WebDriver超时，池中实例均在使用中");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待WebDriver被中断", e);
+        }
+
+        try {
+            PooledDriver pooled;
+            while ((pooled = pollIdle()) != null) {
+                if (isExpired(pooled)) {
+                    log.info("WebDriver已超过最大寿命，销毁重建");
+                    destroy(pooled);
+                    continue;
+                }
+                if (!isHealthy(pooled.driver)) {
+                    log.warn("WebDriver健康检查失败，销毁重建");
+                    destroy(pooled);
+                    continue;
+                }
+                pooled.lastUsedAt = System.currentTimeMillis();
+                markLeased(pooled);
+                log.debug("复用WebDriver, 已使用 {} 次", ++pooled.useCount);
+                return pooled.driver;
+            }
+
+            ChromeProfileSlots.Slot slot = profileSlots.acquire();
+            try {
+                pooled = new PooledDriver(createDriver(slot), slot);
+            } catch (RuntimeException e) {
+                profileSlots.release(slot);
+                throw e;
+            }
+            pooled.useCount = 1;
+            markLeased(pooled);
+            return pooled.driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还WebDriver，清理会话后放回池中
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (!crawlerConfig.isDriverPoolEnabled()) {
+            quitQuietly(driver);
+            return;
+        }
+
+        PooledDriver pooled;
+        synchronized (leased) {
+            pooled = leased.remove(driver);
+        }
+        if (pooled == null) {
+            log.warn("归还了不属于池的WebDriver，直接关闭");
+            quitQuietly(driver);
+            return;
+        }
+
+        try {
+            if (closed || isExpired(pooled) || !resetSession(driver)) {
+                destroy(pooled);
+            } else {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.offerFirst(pooled);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 作废WebDriver（浏览器异常时调用），直接销毁不再复用
+     */
+    public void invalidate(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        PooledDriver pooled;
+        synchronized (leased) {
+            pooled = leased.remove(driver);
+        }
+        if (pooled == null) {
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 定期回收空闲过久或超过寿命的实例
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void evictIdle() {
+        long maxIdleMillis = crawlerConfig.getDriverPoolMaxIdleSeconds() * 1000L;
+        long now = System.currentTimeMillis();
+        List<PooledDriver> evicted = new ArrayList<>();
+
+        synchronized (idle) {
+            Iterator<PooledDriver> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledDriver pooled = it.next();
+                if (now - pooled.lastUsedAt > maxIdleMillis || isExpired(pooled)) {
+                    it.remove();
+                    evicted.add(pooled);
+                }
+            }
+        }
+
+        if (!evicted.isEmpty()) {
+            log.info("回收空闲WebDriver {} 个", evicted.size());
+            evicted.forEach(this::destroy);
+        }
+    }
+
+    /**
+     * 获取池状态
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", crawlerConfig.isDriverPoolEnabled());
+        stats.put("maxSize", crawlerConfig.getDriverPoolMaxSize());
+        synchronized (idle) {
+            stats.put("idle", idle.size());
+        }
+        synchronized (leased) {
+            stats.put("leased", leased.size());
+        }
+        stats.put("profiles", profileSlots.getStats());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        List<PooledDriver> all = new ArrayList<>();
+        synchronized (idle) {
+            all.addAll(idle);
+            idle.clear();
+        }
+        synchronized (leased) {
+            all.addAll(leased.values());
+            leased.clear();
+        }
+        all.forEach(this::destroy);
+        log.info("WebDriver池已关闭，共销毁 {} 个实例", all.size());
+    }
+
+    /**
+     * 启动新的浏览器实例并记录耗时，slot 为空时使用临时用户目录
+     */
+    private WebDriver createDriver(ChromeProfileSlots.Slot slot) {
+        long start = crawlMetrics.start();
+        try {
+            WebDriver driver = seleniumConfig.createWebDriver(slot != null ? slot.getProfileDir() : null);
+            crawlMetrics.record(CrawlMetrics.DRIVER_CREATE, null, true, start);
+            return driver;
+        } catch (RuntimeException e) {
+            crawlMetrics.record(CrawlMetrics.DRIVER_CREATE, null, false, start);
+            throw e;
+        }
+    }
+
+    private PooledDriver pollIdle() {
+        synchronized (idle) {
+            return idle.pollFirst();
+        }
+    }
+
+    private void markLeased(PooledDriver pooled) {
+        synchronized (leased) {
+            leased.put(pooled.driver, pooled);
+        }
+    }
+
+    private boolean isExpired(PooledDriver pooled) {
+        long maxAgeMillis = crawlerConfig.getDriverPoolMaxAgeMinutes() * 60000L;
+        return System.currentTimeMillis() - pooled.createdAt > maxAgeMillis;
+    }
+
+    /**
+     * 健康检查：浏览器进程存活且能执行脚本
+     */
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            if (driver.getWindowHandles().isEmpty()) {
+                return false;
+            }
+            Object state = ((JavascriptExecutor) driver).executeScript("return document.readyState");
+            return state != null;
+        } catch (Exception e) {
+            log.debug("WebDriver健康检查异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 清理会话：关闭多余窗口并回到空白页，保留Cookie以便下次复用登录态
+     */
+    private boolean resetSession(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            if (handles.isEmpty()) {
+                return false;
+            }
+            String keep = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(keep)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(keep);
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            log.warn("清理WebDriver会话失败: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(PooledDriver pooled) {
+        try {
+            quitQuietly(pooled.driver);
+        } finally {
+            profileSlots.release(pooled.slot);
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.warn("关闭WebDriver失败", e);
+        }
+    }
+
+    /**
+     * 池化的WebDriver实例
+     */
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private final ChromeProfileSlots.Slot slot;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastUsedAt = createdAt;
+        private int useCount;
+
+        private PooledDriver(WebDriver driver, ChromeProfileSlots.Slot slot) {
+            this.driver = driver;
+            this.slot = slot;
+        }
+    }
+}
@@ -4,6 +4,11 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 爬虫配置类
  */
@@ -23,14 +28,14 @@ public class CrawlerConfig {
     private String biddingUrl = "https://ecp.sgcc.com.cn/ecp2.0/portal/#/zbcg";
 
     /**
-     * 最小请求间隔(毫秒)
+     * 是否直达各公告类型的列表路由(跳过首页、招标采购导航及Tab点击，失败时回退为逐级点击)
      */
-    private int intervalMin = 3000;
+    private boolean deepLinkEnabled = false;
 
     /**
-     * 最大请求间隔(毫秒)
+     * 列表路由模板，支持 {biddingUrl} {urlKey} {menuId} 占位符，{menuId} 取自 http-menu-ids
      */
-    private int intervalMax = 8000;
+    private String deepLinkUrlTemplate = "{biddingUrl}/{urlKey}";
 
     /**
      * 重试次数
@@ -43,10 +48,121 @@ public class CrawlerConfig {
     private int pageLoadTimeout = 30;
 
     /**
-     * 元素等待超时时间(秒)
+     * 元素等待超时时间(秒)，用于显式等待必需元素；浏览器不设置隐式等待，可选元素零等待探测
      */
     private int elementWaitTimeout = 10;
 
+    /**
+     * 每次爬取的最大列表页数
+     */
+    private int maxPages = 5;
+
+    /**
+     * 就绪等待的轮询间隔(毫秒)
+     */
+    private int waitPollMillis = 100;
+
+    /**
+     * 判定列表行数稳定/网络静默所需的静默时间(毫秒)
+     */
+    private int waitQuietMillis = 500;
+
+    /**
+     * 每次导航/点击前附加的礼貌性随机抖动上限(毫秒)，0 表示不抖动
+     */
+    private int waitJitterMaxMillis = 300;
+
+    /**
+     * 是否启用自适应限速（按主机的令牌桶，速率随响应耗时与失败情况自动调整）
+     */
+    private boolean rateLimitEnabled = true;
+
+    /**
+     * 初始访问速率(次/秒)
+     */
+    private double rateLimitInitialPerSecond = 0.5;
+
+    /**
+     * 最低访问速率(次/秒)
+     */
+    private double rateLimitMinPerSecond = 0.1;
+
+    /**
+     * 最高访问速率(次/秒)
+     */
+    private double rateLimitMaxPerSecond = 2.0;
+
+    /**
+     * 令牌桶容量（允许的突发访问次数）
+     */
+    private int rateLimitBurst = 2;
+
+    /**
+     * 响应耗时超过该值(毫秒)视为门户压力增大，降低速率
+     */
+    private long rateLimitLatencyThresholdMillis = 3000;
+
+    /**
+     * 访问正常时每次增加的速率(次/秒)
+     */
+    private double rateLimitIncreaseStep = 0.05;
+
+    /**
+     * 失败或变慢时速率的缩减系数
+     */
+    private double rateLimitDecreaseFactor = 0.5;
+
+    /**
+     * 是否启用增量爬取：点击详情前按列表行指纹跳过已入库公告，连续遇到已入库公告后停止翻页
+     * 注意：已入库公告的变更（如状态、开标时间调整）在增量模式下不会被检测
+     */
+    private boolean incrementalEnabled = false;
+
+    /**
+     * 增量爬取时连续遇到多少条已入库公告后停止
+     */
+    private int incrementalStopAfterKnown = 5;
+
+    /**
+     * 去重批量查询时每次 IN 查询的指纹数量
+     */
+    private int dedupLookupChunkSize = 500;
+
+    /**
+     * 批量写入公告时每批提交的记录数
+     */
+    private int upsertBatchSize = 200;
+
+    /**
+     * 是否启用内存指纹索引（启动时加载已入库公告的 content_hash，新公告无需查询数据库）
+     */
+    private boolean knownIndexEnabled = true;
+
+    /**
+     * 指纹索引预估容量（超出后自动扩容）
+     */
+    private int knownIndexExpectedSize = 100000;
+
+    /**
+     * 指纹索引前置布隆过滤器的误判率
+     */
+    private double knownIndexFalsePositiveRate = 0.01;
+
+    /**
+     * 是否记录选择器命中排名(导航、Tab、列表行、详情标签等多候选选择器优先尝试最近命中的候选)
+     */
+    private boolean selectorRankingEnabled = true;
+
+    /**
+     * 选择器排名持久化文件
+     */
+    private String selectorRankingFile = "/app/data/selector-ranking.json";
+
+    /**
+     * 候选选择器连续未命中多少次后降到末尾
+     */
+    private int selectorDemoteAfter = 3;
+
     /**
      * Chrome驱动路径(可选，不设置则自动检测)
      */
@@ -76,4 +192,157 @@ public class CrawlerConfig {
      * 下载路径
      */
     private String downloadFilePath;
+
+    /**
+     * 是否启用WebDriver池(关闭则每次爬取新建浏览器并在结束后退出)
+     */
+    private boolean driverPoolEnabled = true;
+
+    /**
+     * WebDriver池最大实例数
+     */
+    private int driverPoolMaxSize = 3;
+
+    /**
+     * 借用WebDriver的最长等待时间(秒)
+     */
+    private int driverPoolBorrowTimeout = 300;
+
+    /**
+     * 空闲实例最大保留时间(秒)，超时后被回收
+     */
+    private int driverPoolMaxIdleSeconds = 900;
+
+    /**
+     * 实例最大使用寿命(分钟)，超时后归还时直接销毁重建
+     */
+    private int driverPoolMaxAgeMinutes = 120;
+
+    /**
+     * 是否为池中每个浏览器分配持久化用户目录(--user-data-dir)，复用门户静态资源的磁盘缓存
+     * 仅对池化的浏览器生效，槽位数量等于 driver-pool-max-size
+     */
+    private boolean profilePersistEnabled = false;
+
+    /**
+     * 持久化用户目录的根目录
+     */
+    private String profileBaseDir = "/app/data/chrome-profiles";
+
+    /**
+     * 每个用户目录的磁盘缓存上限(MB)
+     */
+    private int profileDiskCacheMb = 200;
+
+    /**
+     * 用户目录总大小上限(MB)，超过后在空闲时清空重建
+     */
+    private int profileMaxSizeMb = 500;
+
+    /**
+     * 用户目录最大保留时间(小时)，超过后在空闲时清空重建
+     */
+    private int profileMaxAgeHours = 72;
+
+    /**
+     * 定时任务是否爬取全部公告类型(否则仅爬取招标公告)
+     */
+    private boolean crawlAllTypes = false;
+
+    /**
+     * 全类型爬取时的并发浏览器数量(受WebDriver池大小限制)
+     */
+    private int crawlAllParallelism = 3;
+
+    /**
+     * 详情页并发标签页数量(同一浏览器会话内同时加载的详情页数，1 为逐条串行)
+     */
+    private int detailConcurrency = 3;
+
+    /**
+     * 是否使用DOM快照解析详情页(一次性抓取DOM后本地匹配标签，避免逐个标签查询)
+     */
+    private boolean snapshotDetailParse = true;
+
+    /**
+     * 是否启用网络捕获模式(通过CDP直接获取列表/详情接口JSON，绕过DOM抓取)
+     */
+    private boolean networkCaptureEnabled = false;
+
+    /**
+     * 列表接口URL关键字
+     */
+    private List<String> captureListUrlKeywords = new ArrayList<>(List.of("noteList"));
+
+    /**
+     * 详情接口URL关键字
+     */
+    private List<String> captureDetailUrlKeywords = new ArrayList<>(List.of("getNoticeBid", "getChangeBid", "getNoticeWin", "getDoc"));
+
+    /**
+     * 等待接口响应的超时时间(秒)
+     */
+    private int captureWaitTimeout = 10;
+
+    /**
+     * 是否拦截爬取不需要的静态资源(图片、字体、统计脚本等)
+     */
+    private boolean resourceBlockingEnabled = true;
+
+    /**
+     * 拦截的资源类型: image/font/media
+     */
+    private List<String> blockedResourceTypes = new ArrayList<>(List.of("image", "font", "media"));
+
+    /**
+     * 额外拦截的URL规则(支持 * 通配符，匹配完整URL；较短的域名按 *://域名/* 锚定，避免误拦路径中含相同字符的请求)
+     */
+    private List<String> blockedUrlPatterns = new ArrayList<>(List.of(
+            "*google-analytics.com*", "*googletagmanager.com*", "*hm.baidu.com*", "*cnzz.com*",
+            "*://51.la/*", "*://*.51.la/*"));
+
+    /**
+     * 是否启用HTTP直连通道（不启动浏览器直接调用门户接口，失败时回退Selenium）
+     */
+    private boolean httpFastPathEnabled = false;
+
+    /**
+     * 列表接口地址
+     */
+    private String httpListUrl = "https://ecp.sgcc.com.cn/ecp2.0/ecpwcmcore//index/noteList";
+
+    /**
+     * 详情接口地址
+     */
+    private String httpDetailUrl = "https://ecp.sgcc.com.cn/ecp2.0/ecpwcmcore//index/getNoticeBid";
+
+    /**
+     * 列表接口请求体模板，支持 {page} {size} {menuId} 占位符
+     */
+    private String httpListBody = "{\"index\":{page},\"size\":{size},\"firstPageMenuId\":\"{menuId}\",\"purOrgStatus\":\"\",\"purOrgCode\":\"\",\"purType\":\"\",\"orgId\":\"\",\"key\":\"\"}";
+
+    /**
+     * 详情接口请求体模板，支持 {docId} 占位符
+     */
+    private String httpDetailBody = "{docId}";
+
+    /**
+     * 各公告类型对应的门户菜单ID（键为 AnnouncementType 名称），未配置的类型直接走Selenium
+     */
+    private Map<String, String> httpMenuIds = new HashMap<>();
+
+    /**
+     * 列表接口每页条数
+     */
+    private int httpPageSize = 20;
+
+    /**
+     * 详情接口最大并发请求数
+     */
+    private int httpMaxConcurrency = 4;
+
+    /**
+     * 详情页链接模板，支持 {docId} 占位符，留空则不填充详情链接
+     */
+    private String httpDetailPageUrlTemplate = "";
 }
@@ -26,4 +26,84 @@ public class DingTalkConfig {
      * 是否启用
      */
     private boolean enabled = true;
+
+    /**
+     * 异步通知队列容量
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * 通知发送工作线程数
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 队列满时提交方最长等待时间(毫秒)，超时后由提交线程直接发送
+     */
+    private long queueOfferTimeoutMillis = 2000;
+
+    /**
+     * 应用关闭时等待队列发送完毕的最长时间(秒)
+     */
+    private int shutdownDrainSeconds = 30;
+
+    /**
+     * 发件箱轮询间隔(毫秒)
+     */
+    private long outboxPollMillis = 5000;
+
+    /**
+     * 发件箱每次认领的消息数
+     */
+    private int outboxBatchSize = 100;
+
+    /**
+     * 单条消息最大发送次数，超过后标记为发送失败
+     */
+    private int outboxMaxAttempts = 8;
+
+    /**
+     * 重试退避基准时间(秒)，第n次失败后等待 base * 2^(n-1) 秒
+     */
+    private long outboxBackoffBaseSeconds = 30;
+
+    /**
+     * 重试退避最长时间(秒)
+     */
+    private long outboxBackoffMaxSeconds = 3600;
+
+    /**
+     * 已认领但未完成的消息在多少秒后可被重新认领（进程异常退出后恢复）
+     */
+    private int outboxClaimTimeoutSeconds = 300;
+
+    /**
+     * 启动时为最近多少小时内未推送且无发件箱记录的公告/项目补发通知，0 表示不补发
+     */
+    private int outboxRecoverWithinHours = 72;
+
+    /**
+     * 是否将同类型的公告通知合并为摘要消息
+     */
+    private boolean digestEnabled = true;
+
+    /**
+     * 摘要合并窗口(秒)：公告通知延迟该时间后发送，窗口内的同类通知合并为一条
+     */
+    private int digestWindowSeconds = 60;
+
+    /**
+     * 单条摘要最多包含的公告数
+     */
+    private int digestMaxItems = 30;
+
+    /**
+     * 单条消息内容最大字节数(钉钉Markdown消息上限约20000字节)
+     */
+    private int digestMaxBytes = 18000;
+
+    /**
+     * 每分钟最多发送的消息数(钉钉机器人限制约20条/分钟)
+     */
+    private int maxMessagesPerMinute = 20;
 }
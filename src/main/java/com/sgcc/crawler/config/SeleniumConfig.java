@@ -1,5 +1,6 @@
 package com.sgcc.crawler.config;
 
+import com.sgcc.crawler.browser.ResourceBlocker;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
@@ -24,6 +26,7 @@ import java.util.Random;
 public class SeleniumConfig {
 
     private final CrawlerConfig crawlerConfig;
+    private final ResourceBlocker resourceBlocker;
 
     /**
      * User-Agent列表
@@ -132,6 +135,14 @@ public class SeleniumConfig {
      * 创建Chrome配置选项
      */
     public ChromeOptions createChromeOptions() {
+        return createChromeOptions(null);
+    }
+
+    /**
+     * 创建Chrome配置选项
+     * @param userDataDir 持久化用户目录，为空时使用Chrome默认的临时目录
+     */
+    public ChromeOptions createChromeOptions(Path userDataDir) {
         ChromeOptions options = new ChromeOptions();
 
         // 设置Chrome浏览器二进制路径
@@ -142,7 +153,7 @@ public class SeleniumConfig {
         }
 
         // 随机User-Agent
-        String userAgent = USER_AGENTS.get(random.nextInt(USER_AGENTS.size()));
+        String userAgent = getRandomUserAgent();
         options.addArguments("--user-agent=" + userAgent);
 
         // 无头模式
@@ -163,6 +174,12 @@ public class SeleniumConfig {
         options.addArguments("--ignore-certificate-errors");
         options.addArguments("--ignore-ssl-errors");
 
+        // 持久化用户目录及磁盘缓存上限
+        if (userDataDir != null) {
+            options.addArguments("--user-data-dir=" + userDataDir);
+            options.addArguments("--disk-cache-size=" + crawlerConfig.getProfileDiskCacheMb() * 1024L * 1024L);
+        }
+
         // --- 增加下载配置 ---
         Map<String, Object> prefs = new HashMap<>();
         // 设置默认下载路径（项目根目录下的 downloads 文件夹）
@@ -175,6 +192,9 @@ public class SeleniumConfig {
         prefs.put("download.prompt_for_download", false); // 禁用下载提示
         prefs.put("download.directory_upgrade", true);
         prefs.put("plugins.always_open_pdf_externally", true); // PDF也直接下载而不是在浏览器打开
+        if (resourceBlocker.blocksImages()) {
+            prefs.put("profile.managed_default_content_settings.images", 2); // 所有标签页禁用图片
+        }
         options.setExperimentalOption("prefs", prefs);
         // ------------------
 
@@ -241,27 +261,40 @@ public class SeleniumConfig {
      * 创建WebDriver实例
      */
     public WebDriver createWebDriver() {
-        ChromeOptions options = createChromeOptions();
+        return createWebDriver(null);
+    }
+
+    /**
+     * 创建WebDriver实例
+     * @param userDataDir 持久化用户目录，为空时使用Chrome默认的临时目录
+     */
+    public WebDriver createWebDriver(Path userDataDir) {
+        ChromeOptions options = createChromeOptions(userDataDir);
         ChromeDriver driver = new ChromeDriver(options);
 
         // 设置超时
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(crawlerConfig.getPageLoadTimeout()));
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(crawlerConfig.getElementWaitTimeout()));
+        // 不使用隐式等待：否则每次预期找不到的查找都要等满超时；需要等待的元素由 PageWaiter 显式等待
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
 
         // 执行CDP命令，隐藏webdriver特征
         driver.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
                 java.util.Map.of("source",
                         "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})"));
 
+        // 拦截图片、字体及统计脚本
+        if (resourceBlocker.apply(driver)) {
+            log.info("已启用静态资源拦截: {} 条规则", resourceBlocker.blockedPatterns().size());
+        }
+
         log.info("WebDriver创建成功");
         return driver;
     }
 
     /**
-     * 获取随机延迟时间
+     * 获取随机User-Agent
      */
-    public int getRandomDelay() {
-        return crawlerConfig.getIntervalMin() +
-                random.nextInt(crawlerConfig.getIntervalMax() - crawlerConfig.getIntervalMin());
+    public String getRandomUserAgent() {
+        return USER_AGENTS.get(random.nextInt(USER_AGENTS.size()));
     }
 }
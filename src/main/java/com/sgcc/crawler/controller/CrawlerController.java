@@ -186,6 +186,28 @@ public class CrawlerController {
         return result;
     }
 
+    /**
+     * 并行爬取所有公告类型
+     */
+    @PostMapping("/crawl/announcements/all")
+    public Map<String, Object> crawlAllAnnouncements() {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            log.info("手动触发全类型爬取公告");
+            Map<AnnouncementType, Integer> counts = announcementCrawlerService.crawlAllAndSave();
+
+            result.put("success", true);
+            result.put("message", "爬取完成");
+            result.put("newCounts", counts);
+            result.put("newCount", counts.values().stream().mapToInt(Integer::intValue).sum());
+        } catch (Exception e) {
+            log.error("全类型爬取公告失败", e);
+            result.put("success", false);
+            result.put("message", "爬取失败: " + e.getMessage());
+        }
+        return result;
+    }
+
     /**
      * 测试爬取公告（仅前5条）
      * 用于检验拟人化点击及详情抓取逻辑
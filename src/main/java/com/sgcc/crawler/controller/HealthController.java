@@ -1,5 +1,10 @@
 package com.sgcc.crawler.controller;
 
+import com.sgcc.crawler.browser.SelectorRanking;
+import com.sgcc.crawler.browser.WebDriverPool;
+import com.sgcc.crawler.dedup.KnownHashIndex;
+import com.sgcc.crawler.notify.NotificationQueue;
+import com.sgcc.crawler.throttle.AdaptiveRateLimiter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,6 +28,21 @@ public class HealthController {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private WebDriverPool webDriverPool;
+
+    @Autowired
+    private AdaptiveRateLimiter rateLimiter;
+
+    @Autowired
+    private KnownHashIndex knownHashIndex;
+
+    @Autowired
+    private NotificationQueue notificationQueue;
+
+    @Autowired
+    private SelectorRanking selectorRanking;
+
     /**
      * 基础健康检查接口
      */
@@ -90,6 +110,11 @@ public class HealthController {
         // 这里可以集成实际的爬虫状态检查逻辑
         result.put("lastRun", LocalDateTime.now().minusHours(1));
         result.put("nextRun", LocalDateTime.now().plusHours(1));
+        result.put("driverPool", webDriverPool.getStats());
+        result.put("rateLimit", rateLimiter.getRates());
+        result.put("knownIndex", knownHashIndex.getStats());
+        result.put("notifyQueue", notificationQueue.getStats());
+        result.put("selectorRanking", selectorRanking.getStats());
         return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.sgcc.crawler.dedup;
+
+/**
+ * 128位指纹的布隆过滤器
+ * 输入本身是均匀分布的MD5，直接用高/低64位做双重哈希，不再额外计算哈希
+ * 非线程安全，由调用方加锁
+ */
+class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预计元素数量
+     * @param falsePositiveRate 期望误判率
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double p = Math.min(0.5, Math.max(1e-6, falsePositiveRate));
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (m + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(long hi, long lo) {
+        long combined = hi;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            bits[(int) (index >>> 6)] |= 1L << index;
+            combined += lo;
+        }
+    }
+
+    boolean mightContain(long hi, long lo) {
+        long combined = hi;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+            combined += lo;
+        }
+        return true;
+    }
+
+    /**
+     * 占用内存(字节)
+     */
+    long sizeInBytes() {
+        return bits.length * 8L;
+    }
+}
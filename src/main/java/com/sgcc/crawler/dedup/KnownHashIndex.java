@@ -0,0 +1,258 @@
+package com.sgcc.crawler.dedup;
+
+import com.sgcc.crawler.config.CrawlerConfig;
+import com.sgcc.crawler.mapper.BiddingAnnouncementMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 已入库公告的内存指纹索引
+ * 启动时从数据库加载全部 content_hash，入库后增量追加（加载期间的追加先暂存，加载完成后补录）；
+ * 每个MD5指纹以两个 long 存放在开放寻址的原始类型数组中（约16字节/条），前置布隆过滤器，
+ * 绝大多数新公告在布隆过滤器一步即可判定，不再访问数据库
+ * 索引未加载成功时 isLoaded() 返回 false，调用方应回退为数据库查询
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KnownHashIndex {
+
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    private final BiddingAnnouncementMapper announcementMapper;
+    private final CrawlerConfig crawlerConfig;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] his = new long[0];
+    private long[] los = new long[0];
+    private boolean containsZero = false;
+    private int size = 0;
+    private int bloomCapacity = 0;
+    private BloomFilter bloom;
+    private volatile boolean loaded = false;
+    private volatile boolean loading = false;
+
+    /**
+     * 加载期间追加的指纹
+     */
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 应用启动完成后加载索引（失败不影响启动，去重回退为数据库查询）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!crawlerConfig.isKnownIndexEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        loading = true;
+        try {
+            lock.writeLock().lock();
+            try {
+                reset(Math.max(crawlerConfig.getKnownIndexExpectedSize(), 16));
+                announcementMapper.selectAllContentHashes(context -> addUnlocked(context.getResultObject()));
+                // 先置为已加载再补录：之后的追加直接写入索引，不会遗留在暂存队列中
+                loaded = true;
+                drainPending();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("已入库公告指纹索引加载完成: {} 条, 耗时 {} ms", size, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            pending.clear();
+            log.warn("已入库公告指纹索引加载失败，去重将直接查询数据库: {}", e.getMessage());
+        } finally {
+            loading = false;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 指纹是否已入库（索引未加载时返回 false）
+     */
+    public boolean contains(String contentHash) {
+        long[] key = parse(contentHash);
+        if (key == null || !loaded) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return bloom.mightContain(key[0], key[1]) && find(key[0], key[1]) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 追加已入库的指纹
+     * 加载期间先暂存，加载完成后补录，避免加载窗口内入库的公告在本进程生命周期内缺失
+     */
+    public void add(String contentHash) {
+        if (!loaded) {
+            if (!loading) {
+                return;
+            }
+            pending.add(contentHash);
+            if (!loaded) {
+                return;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            drainPending();
+            addUnlocked(contentHash);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("loaded", loaded);
+            stats.put("size", size);
+            stats.put("tableBytes", his.length * 16L);
+            stats.put("bloomBytes", bloom != null ? bloom.sizeInBytes() : 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+
+    private void drainPending() {
+        String hash;
+        while ((hash = pending.poll()) != null) {
+            addUnlocked(hash);
+        }
+    }
+
+    private void addUnlocked(String contentHash) {
+        long[] key = parse(contentHash);
+        if (key == null) {
+            return;
+        }
+        long hi = key[0];
+        long lo = key[1];
+        if (hi == 0 && lo == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            bloom.put(hi, lo);
+            return;
+        }
+        if (find(hi, lo) >= 0) {
+            return;
+        }
+        if (size + 1 > his.length * MAX_LOAD_FACTOR) {
+            rehash(his.length * 2);
+        }
+        int slot = slot(hi, lo, his.length);
+        while (his[slot] != 0 || los[slot] != 0) {
+            slot = (slot + 1) & (his.length - 1);
+        }
+        his[slot] = hi;
+        los[slot] = lo;
+        size++;
+        if (size > bloomCapacity) {
+            rebuildBloom(bloomCapacity * 2);
+        } else {
+            bloom.put(hi, lo);
+        }
+    }
+
+    private int find(long hi, long lo) {
+        if (hi == 0 && lo == 0) {
+            return containsZero ? 0 : -1;
+        }
+        if (his.length == 0) {
+            return -1;
+        }
+        int slot = slot(hi, lo, his.length);
+        while (his[slot] != 0 || los[slot] != 0) {
+            if (his[slot] == hi && los[slot] == lo) {
+                return slot;
+            }
+            slot = (slot + 1) & (his.length - 1);
+        }
+        return -1;
+    }
+
+    private void reset(int expected) {
+        int capacity = Integer.highestOneBit((int) Math.ceil(expected / MAX_LOAD_FACTOR) - 1) << 1;
+        his = new long[capacity];
+        los = new long[capacity];
+        containsZero = false;
+        size = 0;
+        bloomCapacity = expected;
+        bloom = new BloomFilter(bloomCapacity, crawlerConfig.getKnownIndexFalsePositiveRate());
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHis = his;
+        long[] oldLos = los;
+        his = new long[capacity];
+        los = new long[capacity];
+        for (int i = 0; i < oldHis.length; i++) {
+            if (oldHis[i] != 0 || oldLos[i] != 0) {
+                int slot = slot(oldHis[i], oldLos[i], capacity);
+                while (his[slot] != 0 || los[slot] != 0) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                his[slot] = oldHis[i];
+                los[slot] = oldLos[i];
+            }
+        }
+    }
+
+    private void rebuildBloom(int capacity) {
+        bloomCapacity = capacity;
+        bloom = new BloomFilter(capacity, crawlerConfig.getKnownIndexFalsePositiveRate());
+        for (int i = 0; i < his.length; i++) {
+            if (his[i] != 0 || los[i] != 0) {
+                bloom.put(his[i], los[i]);
+            }
+        }
+        if (containsZero) {
+            bloom.put(0, 0);
+        }
+    }
+
+    private static int slot(long hi, long lo, int capacity) {
+        long mixed = hi ^ (lo >>> 17) ^ (lo << 29);
+        return (int) (mixed ^ (mixed >>> 32)) & (capacity - 1);
+    }
+
+    /**
+     * 32位十六进制MD5 -> [高64位, 低64位]，格式不符返回 null（该指纹不进入索引，始终走数据库）
+     */
+    private static long[] parse(String contentHash) {
+        if (contentHash == null || contentHash.length() != 32) {
+            return null;
+        }
+        try {
+            return new long[]{
+                    Long.parseUnsignedLong(contentHash.substring(0, 16), 16),
+                    Long.parseUnsignedLong(contentHash.substring(16), 16)
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -146,6 +146,12 @@ public class BiddingAnnouncement {
      */
     private String contentHash;
 
+    /**
+     * 变更指纹（MD5），基于参与变更检测的字段计算
+     * 与已入库记录的变更指纹一致时可直接判定未变更，无需加载整行
+     */
+    private String fieldHash;
+
     /**
      * 是否已推送 0-否 1-是
      */
@@ -169,6 +175,18 @@ public class BiddingAnnouncement {
     @TableField(exist = false)
     private String rawHtml;
 
+    /**
+     * 门户文档ID（接口通道获取详情使用）
+     */
+    @TableField(exist = false)
+    private String docId;
+
+    /**
+     * 在列表当前页中的行号（从0开始）
+     */
+    @TableField(exist = false)
+    private Integer listIndex;
+
     /**
      * 网络元素
      */
@@ -0,0 +1,114 @@
+package com.sgcc.crawler.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 通知发件箱实体类
+ * 通知消息与业务数据在同一事务中写入，由定时分发任务发送并记录结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("notification_outbox")
+public class NotificationOutbox {
+
+    public static final String EVENT_NEW_ANNOUNCEMENT = "NEW_ANNOUNCEMENT";
+    public static final String EVENT_ANNOUNCEMENT_UPDATE = "ANNOUNCEMENT_UPDATE";
+    public static final String EVENT_NEW_PROJECT = "NEW_PROJECT";
+    public static final String EVENT_PROJECT_STATUS_CHANGE = "PROJECT_STATUS_CHANGE";
+
+    public static final int STATUS_PENDING = 0;
+    public static final int STATUS_SENDING = 1;
+    public static final int STATUS_SENT = 2;
+    public static final int STATUS_FAILED = 3;
+
+    /**
+     * 主键ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 事件类型: NEW_ANNOUNCEMENT/ANNOUNCEMENT_UPDATE/NEW_PROJECT/PROJECT_STATUS_CHANGE
+     */
+    private String eventType;
+
+    /**
+     * 关联的公告或项目ID
+     */
+    private Long refId;
+
+    /**
+     * 消息标题
+     */
+    private String title;
+
+    /**
+     * 消息内容(Markdown)
+     */
+    private String content;
+
+    /**
+     * 摘要分组键（公告类型），同一事件类型、同一分组的消息可合并为一条摘要；为空时单独发送
+     */
+    private String digestKey;
+
+    /**
+     * 合并为摘要时使用的单行内容
+     */
+    private String digestLine;
+
+    /**
+     * 状态 0-待发送 1-发送中 2-已发送 3-发送失败(超过最大重试次数)
+     */
+    private Integer status;
+
+    /**
+     * 已尝试次数
+     */
+    private Integer attempts;
+
+    /**
+     * 下次可发送时间
+     */
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 认领批次标识
+     */
+    private String claimToken;
+
+    /**
+     * 认领时间
+     */
+    private LocalDateTime claimedAt;
+
+    /**
+     * 最近一次失败原因
+     */
+    private String lastError;
+
+    /**
+     * 发送成功时间
+     */
+    private LocalDateTime sentAt;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedAt;
+}
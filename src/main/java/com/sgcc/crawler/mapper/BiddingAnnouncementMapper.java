@@ -2,10 +2,17 @@ package com.sgcc.crawler.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sgcc.crawler.entity.BiddingAnnouncement;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,6 +39,78 @@ public interface BiddingAnnouncementMapper extends BaseMapper<BiddingAnnouncemen
     @Select("SELECT * FROM bidding_announcement WHERE content_hash = #{contentHash}")
     BiddingAnnouncement selectByContentHash(@Param("contentHash") String contentHash);
 
+    /**
+     * 根据一批内容指纹查询已有记录（调用方负责控制 IN 列表长度）
+     */
+    @Select("<script>SELECT * FROM bidding_announcement WHERE content_hash IN " +
+            "<foreach collection='contentHashes' item='hash' open='(' separator=',' close=')'>#{hash}</foreach>" +
+            "</script>")
+    List<BiddingAnnouncement> selectByContentHashes(@Param("contentHashes") Collection<String> contentHashes);
+
+    /**
+     * 根据一批内容指纹查询主键、变更指纹与创建时间（窄投影，不读取 TEXT 字段，用于快速判定未变更及确认插入）
+     */
+    @Select("<script>SELECT id, content_hash, field_hash, created_at FROM bidding_announcement WHERE content_hash IN " +
+            "<foreach collection='contentHashes' item='hash' open='(' separator=',' close=')'>#{hash}</foreach>" +
+            "</script>")
+    List<BiddingAnnouncement> selectFingerprintsByContentHashes(@Param("contentHashes") Collection<String> contentHashes);
+
+    /**
+     * 更新变更指纹（补齐历史数据或修正与实际字段不一致的指纹）
+     */
+    @Update("UPDATE bidding_announcement SET field_hash = #{fieldHash} WHERE id = #{id}")
+    int updateFieldHash(BiddingAnnouncement announcement);
+
+    /**
+     * 流式读取全部内容指纹（用于启动时构建内存指纹索引，逐行回调，不在内存中保留结果列表）
+     */
+    @Select("SELECT content_hash FROM bidding_announcement WHERE content_hash IS NOT NULL")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(String.class)
+    void selectAllContentHashes(ResultHandler<String> handler);
+
+    /**
+     * 按 uk_content_hash 插入或更新（新值为空时保留原值，不修改 notified 与 created_at）
+     * 构成身份指纹的字段不参与更新；受影响行数：1 为插入，2 为更新，0 为未变化
+     * 在批量执行器中调用，配合 rewriteBatchedStatements 合并为 JDBC 批处理
+     */
+    @Insert("INSERT INTO bidding_announcement (" +
+            "announcement_type, project_code, project_name, procurement_name, project_status, " +
+            "procurement_type, detail_url, file_deadline, bid_open_time, bid_open_location, " +
+            "tenderer, contact_person, backup_contact_person, contact_phone, backup_contact_phone, " +
+            "fax, email, project_intro, file_download_url, bidding_file_url, " +
+            "change_content, change_file_url, publish_time, content_hash, field_hash, notified, " +
+            "created_at, updated_at" +
+            ") VALUES (" +
+            "#{announcementType}, #{projectCode}, #{projectName}, #{procurementName}, #{projectStatus}, " +
+            "#{procurementType}, #{detailUrl}, #{fileDeadline}, #{bidOpenTime}, #{bidOpenLocation}, " +
+            "#{tenderer}, #{contactPerson}, #{backupContactPerson}, #{contactPhone}, #{backupContactPhone}, " +
+            "#{fax}, #{email}, #{projectIntro}, #{fileDownloadUrl}, #{biddingFileUrl}, " +
+            "#{changeContent}, #{changeFileUrl}, #{publishTime}, #{contentHash}, #{fieldHash}, #{notified}, " +
+            "#{createdAt}, #{updatedAt}" +
+            ") ON DUPLICATE KEY UPDATE " +
+            "procurement_name = COALESCE(VALUES(procurement_name), procurement_name), " +
+            "project_status = COALESCE(VALUES(project_status), project_status), procurement_type = COALESCE(VALUES(procurement_type), procurement_type), " +
+            "detail_url = COALESCE(VALUES(detail_url), detail_url), file_deadline = COALESCE(VALUES(file_deadline), file_deadline), " +
+            "bid_open_time = COALESCE(VALUES(bid_open_time), bid_open_time), bid_open_location = COALESCE(VALUES(bid_open_location), bid_open_location), " +
+            "tenderer = COALESCE(VALUES(tenderer), tenderer), contact_person = COALESCE(VALUES(contact_person), contact_person), " +
+            "backup_contact_person = COALESCE(VALUES(backup_contact_person), backup_contact_person), contact_phone = COALESCE(VALUES(contact_phone), contact_phone), " +
+            "backup_contact_phone = COALESCE(VALUES(backup_contact_phone), backup_contact_phone), fax = COALESCE(VALUES(fax), fax), " +
+            "email = COALESCE(VALUES(email), email), project_intro = COALESCE(VALUES(project_intro), project_intro), " +
+            "file_download_url = COALESCE(VALUES(file_download_url), file_download_url), bidding_file_url = COALESCE(VALUES(bidding_file_url), bidding_file_url), " +
+            "change_content = COALESCE(VALUES(change_content), change_content), change_file_url = COALESCE(VALUES(change_file_url), change_file_url), " +
+            "publish_time = COALESCE(VALUES(publish_time), publish_time), field_hash = COALESCE(VALUES(field_hash), field_hash), " +
+            "updated_at = VALUES(updated_at)")
+    int upsert(BiddingAnnouncement announcement);
+
+    /**
+     * 批量标记为已推送
+     */
+    @Update("<script>UPDATE bidding_announcement SET notified = 1 WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markNotified(@Param("ids") Collection<Long> ids);
+
     /**
      * 查询未推送的公告
      */
@@ -5,7 +5,9 @@ import com.sgcc.crawler.entity.BiddingProject;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +22,14 @@ public interface BiddingProjectMapper extends BaseMapper<BiddingProject> {
     @Select("SELECT * FROM bidding_project WHERE project_code = #{projectCode}")
     BiddingProject selectByProjectCode(@Param("projectCode") String projectCode);
 
+    /**
+     * 批量标记为已推送
+     */
+    @Update("<script>UPDATE bidding_project SET notified = 1 WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markNotified(@Param("ids") Collection<Long> ids);
+
     /**
      * 查询未推送的项目
      */
@@ -0,0 +1,61 @@
+package com.sgcc.crawler.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.sgcc.crawler.entity.NotificationOutbox;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 通知发件箱Mapper接口
+ */
+@Mapper
+public interface NotificationOutboxMapper extends BaseMapper<NotificationOutbox> {
+
+    /**
+     * 认领一批到期的待发送消息（含认领超时未完成的消息），以认领标识区分本批次
+     * excludeIds 为本进程仍在发送中的消息，即使认领已超时也不重新认领
+     */
+    @Update("<script>UPDATE notification_outbox SET status = 1, claim_token = #{claimToken}, claimed_at = NOW() " +
+            "WHERE ((status = 0 AND next_attempt_at &lt;= NOW()) " +
+            "OR (status = 1 AND claimed_at &lt; NOW() - INTERVAL #{claimTimeoutSeconds} SECOND)) " +
+            "<if test='excludeIds != null and !excludeIds.isEmpty()'>AND id NOT IN " +
+            "<foreach collection='excludeIds' item='id' open='(' separator=',' close=')'>#{id}</foreach></if> " +
+            "ORDER BY id LIMIT #{limit}</script>")
+    int claim(@Param("claimToken") String claimToken, @Param("claimTimeoutSeconds") int claimTimeoutSeconds,
+              @Param("limit") int limit, @Param("excludeIds") Collection<Long> excludeIds);
+
+    /**
+     * 查询指定批次认领的消息
+     */
+    @Select("SELECT * FROM notification_outbox WHERE claim_token = #{claimToken} AND status = 1 ORDER BY id")
+    List<NotificationOutbox> selectClaimed(@Param("claimToken") String claimToken);
+
+    /**
+     * 标记发送成功
+     */
+    @Update("UPDATE notification_outbox SET status = 2, attempts = attempts + 1, sent_at = NOW(), " +
+            "last_error = NULL WHERE id = #{id}")
+    int markSent(@Param("id") Long id);
+
+    /**
+     * 记录一次发送失败，未超过最大重试次数时在 delaySeconds 秒后重新发送，否则标记为发送失败
+     */
+    @Update("UPDATE notification_outbox SET attempts = attempts + 1, last_error = #{error}, " +
+            "status = IF(attempts >= #{maxAttempts}, 3, 0), " +
+            "next_attempt_at = NOW() + INTERVAL #{delaySeconds} SECOND WHERE id = #{id}")
+    int markFailed(@Param("id") Long id, @Param("error") String error,
+                   @Param("maxAttempts") int maxAttempts, @Param("delaySeconds") long delaySeconds);
+
+    /**
+     * 查询已存在发件箱记录的关联ID（用于补发未推送数据时去重）
+     */
+    @Select("<script>SELECT DISTINCT ref_id FROM notification_outbox WHERE event_type = #{eventType} AND ref_id IN " +
+            "<foreach collection='refIds' item='refId' open='(' separator=',' close=')'>#{refId}</foreach>" +
+            "</script>")
+    List<Long> selectRefIds(@Param("eventType") String eventType, @Param("refIds") Collection<Long> refIds);
+}
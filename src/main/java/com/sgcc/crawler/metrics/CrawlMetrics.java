@@ -0,0 +1,87 @@
+package com.sgcc.crawler.metrics;
+
+import com.sgcc.crawler.entity.AnnouncementType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 爬取各阶段的 Micrometer 指标
+ * 耗时统一记录到 crawler.stage 计时器，数量记录到 crawler.items 计数器，
+ * 均以 stage（阶段）、type（公告类型）、outcome（结果）打标签，可通过 /actuator/metrics 查看各阶段耗时占比
+ */
+@Component
+@RequiredArgsConstructor
+public class CrawlMetrics {
+
+    public static final String STAGE_TIMER = "crawler.stage";
+    public static final String ITEM_COUNTER = "crawler.items";
+
+    public static final String DRIVER_CREATE = "driver.create";
+    public static final String NAV_HOME = "nav.home";
+    public static final String NAV_DEEP_LINK = "nav.deeplink";
+    public static final String NAV_CLICK = "nav.click";
+    public static final String TAB_CLICK = "tab.click";
+    public static final String LIST_LOAD = "list.load";
+    public static final String LIST_PARSE = "list.parse";
+    public static final String DETAIL_FETCH = "detail.fetch";
+    public static final String DEDUP_QUERY = "dedup.query";
+    public static final String STORE_WRITE = "store.write";
+    public static final String NOTIFY = "notify";
+
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+
+    private static final String NO_TYPE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 开始计时
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 记录一个阶段的耗时
+     * @param startNanos start() 的返回值
+     */
+    public void record(String stage, AnnouncementType type, boolean success, long startNanos) {
+        record(stage, type, success ? SUCCESS : FAILURE, startNanos);
+    }
+
+    public void record(String stage, AnnouncementType type, String outcome, long startNanos) {
+        Timer.builder(STAGE_TIMER)
+                .description("爬取各阶段耗时")
+                .tag("stage", stage)
+                .tag("type", typeTag(type))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 累加一个阶段处理的条目数（如解析出的列表行、新增/更新/跳过的公告）
+     */
+    public void count(String stage, AnnouncementType type, String outcome, long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        Counter.builder(ITEM_COUNTER)
+                .description("爬取各阶段处理的条目数")
+                .tag("stage", stage)
+                .tag("type", typeTag(type))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+
+    private String typeTag(AnnouncementType type) {
+        return type != null ? type.name() : NO_TYPE;
+    }
+}
@@ -0,0 +1,27 @@
+package com.sgcc.crawler.notify;
+
+import com.sgcc.crawler.entity.AnnouncementType;
+import com.sgcc.crawler.entity.NotificationOutbox;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 待发送的一条钉钉消息及其对应的发件箱记录（摘要消息对应多条记录）
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationDigest {
+
+    private final String title;
+
+    private final String content;
+
+    private final List<NotificationOutbox> sources;
+
+    /**
+     * 公告类型（由发件箱记录的摘要分组键解析），项目类通知为 null
+     */
+    private final AnnouncementType type;
+}
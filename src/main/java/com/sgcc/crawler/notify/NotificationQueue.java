@@ -0,0 +1,201 @@
+package com.sgcc.crawler.notify;
+
+import com.sgcc.crawler.config.DingTalkConfig;
+import com.sgcc.crawler.entity.AnnouncementType;
+import com.sgcc.crawler.metrics.CrawlMetrics;
+import com.sgcc.crawler.util.DingTalkUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 钉钉通知异步队列
+ * 通知消息进入有界队列，由专用工作线程发送，爬取与入库流程不再等待钉钉接口响应；
+ * 队列满时提交方最多阻塞 queue-offer-timeout-millis，仍无空位则由提交线程直接发送（背压，不丢消息）；
+ * 应用关闭时停止接收新消息，并在 shutdown-drain-seconds 内发送完队列中剩余的消息；
+ * 所有消息发送前按 max-messages-per-minute 在滑动一分钟窗口内限速，避免触发钉钉机器人限流
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationQueue {
+
+    private final DingTalkConfig dingTalkConfig;
+    private final CrawlMetrics crawlMetrics;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final Deque<Long> sendTimes = new ArrayDeque<>();
+
+    private BlockingQueue<Notification> queue;
+    private ExecutorService workers;
+    private volatile boolean accepting = false;
+
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(Math.max(1, dingTalkConfig.getQueueCapacity()));
+        int threads = Math.max(1, dingTalkConfig.getWorkerThreads());
+        AtomicInteger index = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "dingtalk-notify-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        accepting = true;
+        for (int i = 0; i < threads; i++) {
+            workers.submit(this::work);
+        }
+        log.info("钉钉通知队列已启动: 容量 {}, 工作线程 {}", dingTalkConfig.getQueueCapacity(), threads);
+    }
+
+    /**
+     * 提交一条Markdown通知
+     * @param onSuccess 发送成功后的回调（在发送线程执行，如标记已推送），可为 null
+     */
+    public void submit(String title, String content, Runnable onSuccess) {
+        submit(null, title, content, onSuccess, null);
+    }
+
+    /**
+     * 提交一条Markdown通知
+     * @param type 通知对应的公告类型，用于发送耗时指标的 type 标签，非公告通知为 null
+     * @param onSuccess 发送成功后的回调，可为 null
+     * @param onFailure 发送失败后的回调（如安排重试），可为 null
+     */
+    public void submit(AnnouncementType type, String title, String content, Runnable onSuccess, Runnable onFailure) {
+        Notification notification = new Notification(type, title, content, onSuccess, onFailure);
+        if (accepting) {
+            try {
+                if (queue.offer(notification, dingTalkConfig.getQueueOfferTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                log.warn("钉钉通知队列已满({} 条)，由提交线程直接发送: {}", queue.size(), title);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        callerRuns.incrementAndGet();
+        deliver(notification);
+    }
+
+    /**
+     * 队列中待发送的消息数
+     */
+    public int pending() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", queue != null ? queue.size() : 0);
+        stats.put("sent", sent.get());
+        stats.put("failed", failed.get());
+        stats.put("callerRuns", callerRuns.get());
+        return stats;
+    }
+
+    /**
+     * 停止接收新消息，等待队列中的消息发送完毕
+     */
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(dingTalkConfig.getShutdownDrainSeconds(), TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+                log.warn("钉钉通知队列关闭超时，未发送 {} 条", queue.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("钉钉通知队列已关闭: 已发送 {} 条, 失败 {} 条", sent.get(), failed.get());
+    }
+
+    private void work() {
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Notification notification = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (notification != null) {
+                    deliver(notification);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(Notification notification) {
+        awaitSendPermit();
+        long start = crawlMetrics.start();
+        boolean success = DingTalkUtil.sendMarkdown(dingTalkConfig.getWebhook(), dingTalkConfig.getSecret(),
+                notification.title(), notification.content());
+        crawlMetrics.record(CrawlMetrics.NOTIFY, notification.type(), success, start);
+        if (success) {
+            sent.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+            log.warn("钉钉通知发送失败: {}", notification.title());
+        }
+        Runnable callback = success ? notification.onSuccess() : notification.onFailure();
+        if (callback != null) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                log.warn("钉钉通知回调执行失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 滑动窗口限速：最近一分钟内的发送次数达到上限时等待最早一次发送移出窗口
+     */
+    private void awaitSendPermit() {
+        int limit = dingTalkConfig.getMaxMessagesPerMinute();
+        if (limit <= 0) {
+            return;
+        }
+        while (true) {
+            long waitMillis;
+            synchronized (sendTimes) {
+                long now = System.currentTimeMillis();
+                while (!sendTimes.isEmpty() && now - sendTimes.peekFirst() >= 60_000) {
+                    sendTimes.pollFirst();
+                }
+                if (sendTimes.size() < limit) {
+                    sendTimes.addLast(now);
+                    return;
+                }
+                waitMillis = 60_000 - (now - sendTimes.peekFirst());
+            }
+            try {
+                Thread.sleep(Math.max(1, waitMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private record Notification(AnnouncementType type, String title, String content,
+                                Runnable onSuccess, Runnable onFailure) {
+    }
+}
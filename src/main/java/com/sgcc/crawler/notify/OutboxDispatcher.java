@@ -0,0 +1,172 @@
+package com.sgcc.crawler.notify;
+
+import com.sgcc.crawler.config.DingTalkConfig;
+import com.sgcc.crawler.entity.BiddingAnnouncement;
+import com.sgcc.crawler.entity.BiddingProject;
+import com.sgcc.crawler.entity.NotificationOutbox;
+import com.sgcc.crawler.mapper.BiddingAnnouncementMapper;
+import com.sgcc.crawler.mapper.BiddingProjectMapper;
+import com.sgcc.crawler.mapper.NotificationOutboxMapper;
+import com.sgcc.crawler.service.NotifyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 通知发件箱分发任务
+ * 定时认领到期的待发送消息，同类公告通知合并为摘要后交给通知队列发送：成功后标记已发送并回写业务表的推送状态，
+ * 失败后按指数退避安排重试，超过最大次数标记为发送失败；
+ * 认领超时的消息（进程在发送中途退出）会被重新认领，钉钉故障期间消息保留在发件箱中不丢失；
+ * 本进程已认领、仍在队列中或等待限速的消息记录在发送中集合里，认领超时后也不会被重复认领
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private final DingTalkConfig dingTalkConfig;
+    private final NotificationOutboxMapper outboxMapper;
+    private final NotificationQueue notificationQueue;
+    private final NotifyService notifyService;
+    private final BiddingAnnouncementMapper announcementMapper;
+    private final BiddingProjectMapper projectMapper;
+
+    /**
+     * 已认领、尚未得到发送结果的消息ID
+     */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 认领并分发一批消息
+     */
+    @Scheduled(fixedDelayString = "${dingtalk.outbox-poll-millis:5000}", initialDelay = 10000)
+    public void dispatch() {
+        if (!dingTalkConfig.isEnabled()) {
+            return;
+        }
+        // 队列中仍有待发送消息时暂停认领（发送受每分钟条数限制），已认领的消息发送完再继续
+        if (notificationQueue.pending() > 0) {
+            return;
+        }
+        List<NotificationOutbox> claimed;
+        try {
+            String token = UUID.randomUUID().toString();
+            if (outboxMapper.claim(token, dingTalkConfig.getOutboxClaimTimeoutSeconds(),
+                    dingTalkConfig.getOutboxBatchSize(), List.copyOf(inFlight)) == 0) {
+                return;
+            }
+            claimed = outboxMapper.selectClaimed(token);
+            claimed.forEach(message -> inFlight.add(message.getId()));
+        } catch (Exception e) {
+            log.warn("认领发件箱消息失败: {}", e.getMessage());
+            return;
+        }
+        List<NotificationDigest> digests = notifyService.buildDigests(claimed);
+        log.info("认领发件箱消息 {} 条，合并为 {} 条钉钉消息", claimed.size(), digests.size());
+        for (NotificationDigest digest : digests) {
+            notificationQueue.submit(digest.getType(), digest.getTitle(), digest.getContent(),
+                    () -> digest.getSources().forEach(this::onSent),
+                    () -> digest.getSources().forEach(this::onFailed));
+        }
+    }
+
+    /**
+     * 启动时为未推送且没有发件箱记录的公告/项目补发通知（发件箱上线前推送失败的数据）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverUnnotified() {
+        int hours = dingTalkConfig.getOutboxRecoverWithinHours();
+        if (!dingTalkConfig.isEnabled() || hours <= 0) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        try {
+            List<BiddingAnnouncement> announcements = announcementMapper.selectUnnotified().stream()
+                    .filter(a -> a.getCreatedAt() == null || a.getCreatedAt().isAfter(since))
+                    .toList();
+            Set<Long> queued = queuedRefIds(NotificationOutbox.EVENT_NEW_ANNOUNCEMENT,
+                    announcements.stream().map(BiddingAnnouncement::getId).toList());
+            int count = 0;
+            for (BiddingAnnouncement announcement : announcements) {
+                if (!queued.contains(announcement.getId())) {
+                    notifyService.notifyNewAnnouncement(announcement);
+                    count++;
+                }
+            }
+
+            List<BiddingProject> projects = projectMapper.selectUnnotified().stream()
+                    .filter(p -> p.getCreatedAt() == null || p.getCreatedAt().isAfter(since))
+                    .toList();
+            queued = queuedRefIds(NotificationOutbox.EVENT_NEW_PROJECT,
+                    projects.stream().map(BiddingProject::getId).toList());
+            for (BiddingProject project : projects) {
+                if (!queued.contains(project.getId())) {
+                    notifyService.notifyNewProject(project);
+                    count++;
+                }
+            }
+            if (count > 0) {
+                log.info("为未推送的数据补发通知 {} 条", count);
+            }
+        } catch (Exception e) {
+            log.warn("补发未推送通知失败: {}", e.getMessage());
+        }
+    }
+
+    private Set<Long> queuedRefIds(String eventType, List<Long> refIds) {
+        if (refIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(outboxMapper.selectRefIds(eventType, refIds));
+    }
+
+    private void onSent(NotificationOutbox message) {
+        try {
+            markSent(message);
+        } finally {
+            inFlight.remove(message.getId());
+        }
+    }
+
+    private void markSent(NotificationOutbox message) {
+        outboxMapper.markSent(message.getId());
+        if (message.getRefId() == null) {
+            return;
+        }
+        if (NotificationOutbox.EVENT_NEW_ANNOUNCEMENT.equals(message.getEventType())) {
+            announcementMapper.markNotified(List.of(message.getRefId()));
+        } else if (NotificationOutbox.EVENT_NEW_PROJECT.equals(message.getEventType())) {
+            projectMapper.markNotified(List.of(message.getRefId()));
+        }
+    }
+
+    private void onFailed(NotificationOutbox message) {
+        try {
+            markFailed(message);
+        } finally {
+            inFlight.remove(message.getId());
+        }
+    }
+
+    private void markFailed(NotificationOutbox message) {
+        int attempts = (message.getAttempts() != null ? message.getAttempts() : 0) + 1;
+        long delay = Math.min(dingTalkConfig.getOutboxBackoffMaxSeconds(),
+                dingTalkConfig.getOutboxBackoffBaseSeconds() << Math.min(attempts - 1, 20));
+        outboxMapper.markFailed(message.getId(), "钉钉接口返回失败", dingTalkConfig.getOutboxMaxAttempts(), delay);
+        if (attempts >= dingTalkConfig.getOutboxMaxAttempts()) {
+            log.error("发件箱消息发送 {} 次仍失败，不再重试: [{}] {}", attempts, message.getId(), message.getTitle());
+        } else {
+            log.warn("发件箱消息发送失败，{} 秒后重试(第 {} 次): [{}] {}", delay, attempts, message.getId(), message.getTitle());
+        }
+    }
+}
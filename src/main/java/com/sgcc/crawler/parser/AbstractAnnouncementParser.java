@@ -1,5 +1,9 @@
 package com.sgcc.crawler.parser;
 
+import cn.hutool.json.JSONObject;
+import com.sgcc.crawler.browser.ElementLookup;
+import com.sgcc.crawler.browser.PageWaiter;
+import com.sgcc.crawler.browser.SelectorRanking;
 import com.sgcc.crawler.entity.AnnouncementType;
 import com.sgcc.crawler.entity.BiddingAnnouncement;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +16,8 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 抽象公告解析器基类
@@ -22,11 +27,16 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
 
     protected static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     protected static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    protected static final Random random = new Random();
-
     protected int elementWaitTimeout = 10;
-    protected int minDelay = 2000;
-    protected int maxDelay = 5000;
+    protected boolean snapshotDetailEnabled = true;
+    protected PageWaiter pageWaiter;
+    protected SelectorRanking selectorRanking;
+
+    /**
+     * 选择器排名用途
+     */
+    protected static final String LIST_ROWS = "list.rows";
+    protected static final String DETAIL_LABEL = "detail.label";
 
     /**
      * 设置等待超时时间
@@ -36,17 +46,50 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
     }
 
     /**
-     * 设置随机延迟范围
+     * 设置页面就绪等待器
+     */
+    public void setPageWaiter(PageWaiter pageWaiter) {
+        this.pageWaiter = pageWaiter;
+    }
+
+    /**
+     * 设置选择器命中排名
      */
-    public void setDelayRange(int min, int max) {
-        this.minDelay = min;
-        this.maxDelay = max;
+    public void setSelectorRanking(SelectorRanking selectorRanking) {
+        this.selectorRanking = selectorRanking;
+    }
+
+    /**
+     * 设置是否使用DOM快照解析详情页
+     */
+    public void setSnapshotDetailEnabled(boolean enabled) {
+        this.snapshotDetailEnabled = enabled;
     }
 
     @Override
     public List<BiddingAnnouncement> parseList(WebDriver driver) {
         List<BiddingAnnouncement> announcements = new ArrayList<>();
 
+        // 优先一次脚本调用批量抽取所有行
+        List<ListRowData> rowData = extractListRows(driver);
+        if (rowData != null) {
+            log.info("批量抽取到 {} 条记录", rowData.size());
+            for (ListRowData row : rowData) {
+                try {
+                    BiddingAnnouncement announcement = parseListRow(row);
+                    if (announcement != null && announcement.getProjectCode() != null) {
+                        announcement.setAnnouncementType(getSupportedType().name());
+                        // 前后的游览器保持一致，不能重开
+                        announcement.setWebElement(row.getElement());
+                        announcements.add(announcement);
+                    }
+                } catch (Exception e) {
+                    log.warn("解析行数据失败: {}", e.getMessage());
+                }
+            }
+            return announcements;
+        }
+
         try {
             // 查找列表行
             List<WebElement> rows = findListRows(driver);
@@ -74,26 +117,174 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
         return announcements;
     }
 
+    @Override
+    public List<BiddingAnnouncement> parseListPayload(String json) {
+        List<BiddingAnnouncement> announcements = new ArrayList<>();
+        for (JSONObject record : JsonPayloadMapper.findRecords(JsonPayloadMapper.parse(json))) {
+            BiddingAnnouncement announcement = new BiddingAnnouncement();
+            announcement.setProjectName(JsonPayloadMapper.pick(record, "title", "noticeTitle", "projectName", "purName", "name"));
+            announcement.setProjectCode(JsonPayloadMapper.pick(record, "code", "projectCode", "purPrjCode", "purCode", "prjCode"));
+            announcement.setProjectStatus(JsonPayloadMapper.pick(record, "statusName", "status", "purStatus", "prjStatus"));
+            announcement.setPublishTime(parsePayloadTime(JsonPayloadMapper.pick(record,
+                    "noticePublishTime", "publishTime", "pubTime", "createTime")));
+            announcement.setDocId(JsonPayloadMapper.pick(record, "id", "docId", "firstPageDocId", "noticeId"));
+            if (!announcement.getProjectCode().isEmpty()) {
+                announcement.setAnnouncementType(getSupportedType().name());
+                announcements.add(announcement);
+            }
+        }
+        log.info("从接口响应解析到 {} 条记录", announcements.size());
+        return announcements;
+    }
+
+    @Override
+    public BiddingAnnouncement parseDetailPayload(String json, BiddingAnnouncement announcement) {
+        JSONObject detail = JsonPayloadMapper.findDetail(JsonPayloadMapper.parse(json));
+        if (detail == null) {
+            return null;
+        }
+
+        String tenderer = JsonPayloadMapper.pick(detail, "tenderer", "purOrgName", "orgName");
+        String contact = JsonPayloadMapper.pick(detail, "contactPerson", "linkMan", "linkman", "contact");
+        String bidOpenTime = JsonPayloadMapper.pick(detail, "bidOpenTime", "openBidTime", "bidOpenDate");
+        if (tenderer.isEmpty() && contact.isEmpty() && bidOpenTime.isEmpty()) {
+            // 字段均未识别，交由DOM解析
+            return null;
+        }
+
+        String procurementName = JsonPayloadMapper.pick(detail, "purName", "procurementName", "prjName");
+        if (!procurementName.isEmpty()) {
+            announcement.setProcurementName(procurementName);
+        }
+        String status = JsonPayloadMapper.pick(detail, "statusName", "purStatus", "prjStatus");
+        if (!status.isEmpty()) {
+            announcement.setProjectStatus(status);
+        }
+        announcement.setProcurementType(JsonPayloadMapper.pick(detail, "purTypeName", "purType", "procurementType"));
+        announcement.setFileDeadline(parsePayloadTime(JsonPayloadMapper.pick(detail, "fileDeadline", "docEndTime", "fileEndTime")));
+        announcement.setBidOpenTime(parsePayloadTime(bidOpenTime));
+        announcement.setBidOpenLocation(JsonPayloadMapper.pick(detail, "bidOpenLocation", "bidOpenPlace", "openBidPlace"));
+        announcement.setTenderer(tenderer);
+        announcement.setContactPerson(contact);
+        announcement.setBackupContactPerson(JsonPayloadMapper.pick(detail, "backupContactPerson", "spareLinkMan"));
+        announcement.setContactPhone(JsonPayloadMapper.pick(detail, "contactPhone", "linkPhone", "phone", "tel"));
+        announcement.setBackupContactPhone(JsonPayloadMapper.pick(detail, "backupContactPhone", "sparePhone"));
+        announcement.setFax(JsonPayloadMapper.pick(detail, "fax"));
+        announcement.setEmail(JsonPayloadMapper.pick(detail, "email", "mail"));
+        announcement.setProjectIntro(JsonPayloadMapper.pick(detail, "projectIntro", "prjIntroduce", "content"));
+        log.info("从接口响应解析详情完成: {}", announcement.getProjectCode());
+        return announcement;
+    }
+
+    /**
+     * 解析接口中的时间：支持毫秒时间戳及常规日期字符串
+     */
+    protected LocalDateTime parsePayloadTime(String value) {
+        if (value != null && value.matches("\\d{12,13}")) {
+            return LocalDateTime.ofInstant(java.time.Instant.ofEpochMilli(Long.parseLong(value)), java.time.ZoneId.systemDefault());
+        }
+        return parseDateTime(value);
+    }
+
     /**
      * 查找列表行元素
      */
     @Override
     public List<WebElement> findListRows(WebDriver driver) {
-        String[] selectors = getListRowSelectors();
-        
-        for (String selector : selectors) {
-            try {
-                List<WebElement> rows = driver.findElements(By.cssSelector(selector));
-                if (!rows.isEmpty()) {
-                    log.info("使用选择器 {} 找到 {} 行", selector, rows.size());
-                    return rows;
+        List<WebElement> found = resolveSelector(LIST_ROWS, List.of(getListRowSelectors()), selector -> {
+            List<WebElement> rows = ElementLookup.probeAll(driver, By.cssSelector(selector));
+            if (!rows.isEmpty()) {
+                log.info("使用选择器 {} 找到 {} 行", selector, rows.size());
+                return rows;
+            }
+            log.debug("选择器 {} 未找到行", selector);
+            return null;
+        });
+        return found != null ? found : new ArrayList<>();
+    }
+
+    /**
+     * 按选择器命中排名依次尝试候选，返回第一个非 null 的结果；未设置排名时按默认顺序尝试
+     */
+    protected <T> T resolveSelector(String purpose, List<String> candidates, Function<String, T> attempt) {
+        if (selectorRanking != null) {
+            return selectorRanking.resolve(purpose, candidates, attempt);
+        }
+        for (String candidate : candidates) {
+            T result = attempt.apply(candidate);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 批量抽取列表行的脚本，参数为按顺序尝试的行选择器
+     */
+    static final String LIST_ROWS_SCRIPT = """
+            var selectors = arguments[0], rows = [], used = null;
+            for (var i = 0; i < selectors.length; i++) {
+              rows = document.querySelectorAll(selectors[i]);
+              if (rows.length > 0) { used = selectors[i]; break; }
+            }
+            var out = [];
+            for (var r = 0; r < rows.length; r++) {
+              var row = rows[r];
+              var cells = row.querySelectorAll('td');
+              if (cells.length === 0) cells = row.querySelectorAll(".cell, .el-table__cell, [class*='col']");
+              var texts = [], hrefs = [];
+              for (var c = 0; c < cells.length; c++) texts.push((cells[c].innerText || '').trim());
+              var links = row.querySelectorAll('a[href]');
+              for (var l = 0; l < links.length; l++) hrefs.push(links[l].href);
+              out.push({el: row, cells: texts, hrefs: hrefs});
+            }
+            return {selector: used, rows: out};
+            """;
+
+    /**
+     * 批量抽取列表行：一次脚本调用返回所有行的元素、单元格文本及链接
+     * 选择器顺序与 findListRows 一致（按命中排名），单元格优先取 td
+     * @return 行数据列表，脚本执行失败返回 null
+     */
+    protected List<ListRowData> extractListRows(WebDriver driver) {
+        List<String> selectors = selectorRanking != null
+                ? selectorRanking.order(LIST_ROWS, List.of(getListRowSelectors()))
+                : List.of(getListRowSelectors());
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeScript(LIST_ROWS_SCRIPT, selectors);
+            if (!(raw instanceof Map<?, ?> result) || !(result.get("rows") instanceof List<?> rows)) {
+                return null;
+            }
+            if (result.get("selector") != null) {
+                String used = result.get("selector").toString();
+                log.info("使用选择器 {} 找到 {} 行", used, rows.size());
+                if (selectorRanking != null && selectors.contains(used)) {
+                    selectorRanking.record(LIST_ROWS, used, selectors.subList(0, selectors.indexOf(used)));
                 }
-            } catch (Exception e) {
-                log.debug("选择器 {} 查找失败", selector);
+            }
+
+            List<ListRowData> data = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Map<?, ?> row = (Map<?, ?>) rows.get(i);
+                data.add(new ListRowData(i, (WebElement) row.get("el"),
+                        toStringList(row.get("cells")), toStringList(row.get("hrefs"))));
+            }
+            return data;
+        } catch (Exception e) {
+            log.warn("批量抽取列表行失败，回退为逐行解析: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<String> toStringList(Object value) {
+        List<String> list = new ArrayList<>();
+        if (value instanceof List<?> items) {
+            for (Object item : items) {
+                list.add(item != null ? item.toString() : "");
             }
         }
-        
-        return new ArrayList<>();
+        return list;
     }
 
     /**
@@ -125,24 +316,14 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
      * 安全获取元素文本 - 通过CSS选择器
      */
     protected String getTextByCss(WebElement parent, String cssSelector) {
-        try {
-            WebElement element = parent.findElement(By.cssSelector(cssSelector));
-            return element.getText().trim();
-        } catch (Exception e) {
-            return "";
-        }
+        return getTextSafe(ElementLookup.probe(parent, By.cssSelector(cssSelector)));
     }
 
     /**
      * 安全获取元素文本 - 通过XPath
      */
     protected String getTextByXpath(WebElement parent, String xpath) {
-        try {
-            WebElement element = parent.findElement(By.xpath(xpath));
-            return element.getText().trim();
-        } catch (Exception e) {
-            return "";
-        }
+        return getTextSafe(ElementLookup.probe(parent, By.xpath(xpath)));
     }
 
     /**
@@ -244,7 +425,6 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
         try {
             // 滚动到元素可见
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
-            randomSleep(500, 1000);
             
             try {
                 element.click();
@@ -260,57 +440,43 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
     }
 
     /**
-     * 随机延迟
-     */
-    protected void randomSleep() {
-        randomSleep(minDelay, maxDelay);
-    }
-
-    /**
-     * 随机延迟（指定范围）
+     * 等待详情页就绪：文档加载完成且加载遮罩消失
      */
-    protected void randomSleep(int min, int max) {
-        try {
-            int delay = min + random.nextInt(max - min);
-            Thread.sleep(delay);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    protected void waitForDetailReady(WebDriver driver) {
+        if (pageWaiter != null) {
+            pageWaiter.documentReady(driver);
+            pageWaiter.loadingDone(driver);
         }
     }
 
     /**
-     * 获取详情页标签页内的文本值
-     * @param driver WebDriver
-     * @param labelText 标签文本（如"联系人"）
-     * @return 对应的值
+     * 详情页标签取值的XPath模板
      */
+    private static final List<String> DETAIL_LABEL_XPATHS = List.of(
+            "//*[contains(text(),'%s')]/following-sibling::*[1]",
+            "//*[contains(text(),'%s')]/../following-sibling::*[1]",
+            "//td[contains(text(),'%s')]/following-sibling::td[1]",
+            "//th[contains(text(),'%s')]/following-sibling::td[1]",
+            "//span[contains(text(),'%s')]/following-sibling::span[1]",
+            "//div[contains(text(),'%s')]/following-sibling::div[1]"
+    );
+
     /**
      * 获取详情页标签页内的文本值
+     * 各标签的页面结构可能不同，命中排名按标签分别记录
      * @param driver WebDriver
      * @param labelText 标签文本（如"联系人"）
      * @return 对应的值
      */
     protected String getDetailValueByLabel(WebDriver driver, String labelText) {
         try {
-            // 尝试多种方式查找
-            String[] xpaths = {
-                    String.format("//*[contains(text(),'%s')]/following-sibling::*[1]", labelText),
-                    String.format("//*[contains(text(),'%s')]/../following-sibling::*[1]", labelText),
-                    String.format("//td[contains(text(),'%s')]/following-sibling::td[1]", labelText),
-                    String.format("//th[contains(text(),'%s')]/following-sibling::td[1]", labelText),
-                    String.format("//span[contains(text(),'%s')]/following-sibling::span[1]", labelText),
-                    String.format("//div[contains(text(),'%s')]/following-sibling::div[1]", labelText)
-            };
-
-            for (String xpath : xpaths) {
-                try {
-                    WebElement element = driver.findElement(By.xpath(xpath));
-                    String text = element.getText().trim();
-                    if (!text.isEmpty()) {
-                        return text;
-                    }
-                } catch (Exception ignored) {
-                }
+            // 尝试多种方式查找（按模板记录命中排名）
+            String value = resolveSelector(DETAIL_LABEL + ":" + labelText, DETAIL_LABEL_XPATHS, template -> {
+                String text = getTextSafe(ElementLookup.probe(driver, By.xpath(String.format(template, labelText))));
+                return text.isEmpty() ? null : text;
+            });
+            if (value != null) {
+                return value;
             }
         } catch (Exception e) {
             log.debug("获取详情值失败 [{}]: {}", labelText, e.getMessage());
@@ -318,6 +484,31 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
         return "";
     }
 
+    /**
+     * 创建详情页字段取值器
+     * 启用快照时一次性抓取详情页DOM并在本地解析所有标签，失败或未启用时逐个标签实时查询
+     */
+    protected DetailValueResolver createDetailResolver(WebDriver driver) {
+        if (snapshotDetailEnabled) {
+            DetailSnapshot snapshot = DetailSnapshot.capture(driver);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            log.debug("详情页快照不可用，回退为逐个标签查询");
+        }
+        return new DetailValueResolver() {
+            @Override
+            public String getValueByLabel(String labelText) {
+                return getDetailValueByLabel(driver, labelText);
+            }
+
+            @Override
+            public boolean containsText(String text) {
+                return ElementLookup.exists(driver, By.xpath(String.format("//*[contains(text(),'%s')]", text)));
+            }
+        };
+    }
+
     /**
      * 增强版：尝试捕获下载链接或触发下载
      * 支持多关键词和模糊匹配
@@ -336,7 +527,7 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
 
             for (String xpath : xpaths) {
                 try {
-                    List<WebElement> elements = driver.findElements(By.xpath(xpath));
+                    List<WebElement> elements = ElementLookup.probeAll(driver, By.xpath(xpath));
                     for (WebElement btn : elements) {
                         if (!btn.isDisplayed()) continue;
 
@@ -361,7 +552,9 @@ public abstract class AbstractAnnouncementParser implements AnnouncementParser {
                         // C. 兜底方案：模拟人工点击触发下载 (SeleniumConfig 已配置自动保存)
                         log.info("无法直接提取URL，执行拟人化点击触发下载: {}", keyword);
                         clickElement(driver, btn);
-                        randomSleep(1000, 2000);
+                        if (pageWaiter != null) {
+                            pageWaiter.jitter();
+                        }
                         return "TRIGGERED_DOWNLOAD";
                     }
                 } catch (Exception ignored) {}
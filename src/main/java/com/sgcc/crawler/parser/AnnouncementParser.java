@@ -44,6 +44,13 @@ public interface AnnouncementParser {
      */
     BiddingAnnouncement parseListRow(WebElement row);
 
+    /**
+     * 从批量抽取的行数据解析基础信息
+     * @param row 行数据（单元格文本及链接）
+     * @return 公告基础信息
+     */
+    BiddingAnnouncement parseListRow(ListRowData row);
+
     /**
      * 获取详情页链接
      * @param row 行元素
@@ -57,4 +64,19 @@ public interface AnnouncementParser {
      * @return 行元素列表
      */
     List<WebElement> findListRows(WebDriver driver);
+
+    /**
+     * 从捕获的列表接口JSON解析公告列表
+     * @param json 列表接口响应体
+     * @return 公告列表，无法识别时返回空列表
+     */
+    List<BiddingAnnouncement> parseListPayload(String json);
+
+    /**
+     * 从捕获的详情接口JSON补充公告详情
+     * @param json 详情接口响应体
+     * @param announcement 已有的公告基础信息
+     * @return 补充后的公告对象，无法识别时返回 null
+     */
+    BiddingAnnouncement parseDetailPayload(String json, BiddingAnnouncement announcement);
 }
@@ -1,5 +1,6 @@
 package com.sgcc.crawler.parser;
 
+import com.sgcc.crawler.browser.ElementLookup;
 import com.sgcc.crawler.entity.AnnouncementType;
 import com.sgcc.crawler.entity.BiddingAnnouncement;
 import lombok.extern.slf4j.Slf4j;
@@ -34,10 +35,10 @@ public class BiddingAnnouncementParser extends AbstractAnnouncementParser {
 
         try {
             // 获取所有单元格
-            List<WebElement> cells = row.findElements(By.tagName("td"));
+            List<WebElement> cells = ElementLookup.probeAll(row, By.tagName("td"));
             
             if (cells.isEmpty()) {
-                cells = row.findElements(By.cssSelector(".cell, .el-table__cell, [class*='col']"));
+                cells = ElementLookup.probeAll(row, By.cssSelector(".cell, .el-table__cell, [class*='col']"));
             }
 
             if (cells.size() >= 4) {
@@ -64,6 +65,25 @@ public class BiddingAnnouncementParser extends AbstractAnnouncementParser {
         return announcement;
     }
 
+    @Override
+    public BiddingAnnouncement parseListRow(ListRowData row) {
+        BiddingAnnouncement announcement = new BiddingAnnouncement();
+
+        if (row.getCells().size() >= 4) {
+            // 根据列表页结构解析：项目名称 | 项目编号 | 项目状态 | 创建时间
+            announcement.setProjectName(row.cell(0));
+            announcement.setProjectCode(row.cell(1));
+            announcement.setProjectStatus(row.cell(2));
+            announcement.setPublishTime(parseDateTime(row.cell(3)));
+        } else if (!row.getCells().isEmpty()) {
+            announcement.setProjectName(row.cell(0));
+        }
+
+        // 详情链接通过点击跳转后实时获取
+        log.debug("解析列表行: {} - {}", announcement.getProjectCode(), announcement.getProjectName());
+        return announcement;
+    }
+
     @Override
     public String getDetailUrl(WebElement row) {
         // 逻辑迁移至 Service 层，通过点击跳转后实时获取
@@ -76,34 +96,35 @@ public class BiddingAnnouncementParser extends AbstractAnnouncementParser {
             log.info("开始解析详情页: {}", driver.getCurrentUrl());
             announcement.setDetailUrl(driver.getCurrentUrl());
 
-            randomSleep(1000, 2000);
+            waitForDetailReady(driver);
+            DetailValueResolver detail = createDetailResolver(driver);
 
             // 解析页面标题
-            String title = getDetailValueByLabel(driver, "采购项目名称");
+            String title = detail.getValueByLabel("采购项目名称");
             if (!title.isEmpty()) {
                 announcement.setProcurementName(title);
             }
 
             // 采购项目编号
-            String code = getDetailValueByLabel(driver, "采购项目编号");
+            String code = detail.getValueByLabel("采购项目编号");
             if (!code.isEmpty() && announcement.getProjectCode() == null) {
                 announcement.setProjectCode(code);
             }
 
             // 采购类型
-            announcement.setProcurementType(getDetailValueByLabel(driver, "采购类型"));
+            announcement.setProcurementType(detail.getValueByLabel("采购类型"));
 
             // 项目状态
-            String status = getDetailValueByLabel(driver, "采购项目状态");
+            String status = detail.getValueByLabel("采购项目状态");
             if (!status.isEmpty()) {
                 announcement.setProjectStatus(status);
             }
 
             // 解析原公告部分
-            parseOriginalAnnouncement(driver, announcement);
+            parseOriginalAnnouncement(detail, announcement);
 
             // 解析变更公告部分（如果有）
-            parseChangeAnnouncement(driver, announcement);
+            parseChangeAnnouncement(detail, announcement);
 
             log.info("详情解析完成: {}", announcement.getProjectCode());
 
@@ -117,45 +138,45 @@ public class BiddingAnnouncementParser extends AbstractAnnouncementParser {
     /**
      * 解析原公告部分
      */
-    private void parseOriginalAnnouncement(WebDriver driver, BiddingAnnouncement announcement) {
+    private void parseOriginalAnnouncement(DetailValueResolver detail, BiddingAnnouncement announcement) {
         try {
             // 招标文件获取截止时间
-            String fileDeadline = getDetailValueByLabel(driver, "招标文件获取截止时间");
+            String fileDeadline = detail.getValueByLabel("招标文件获取截止时间");
             announcement.setFileDeadline(parseDateTime(fileDeadline));
 
             // 开标时间
-            String bidOpenTime = getDetailValueByLabel(driver, "开标（截标）时间");
+            String bidOpenTime = detail.getValueByLabel("开标（截标）时间");
             if (bidOpenTime.isEmpty()) {
-                bidOpenTime = getDetailValueByLabel(driver, "开标时间");
+                bidOpenTime = detail.getValueByLabel("开标时间");
             }
             announcement.setBidOpenTime(parseDateTime(bidOpenTime));
 
             // 开标地点
-            announcement.setBidOpenLocation(getDetailValueByLabel(driver, "开标地点"));
+            announcement.setBidOpenLocation(detail.getValueByLabel("开标地点"));
 
             // 招标人
-            announcement.setTenderer(getDetailValueByLabel(driver, "招标人"));
+            announcement.setTenderer(detail.getValueByLabel("招标人"));
 
             // 联系人
-            announcement.setContactPerson(getDetailValueByLabel(driver, "联系人"));
+            announcement.setContactPerson(detail.getValueByLabel("联系人"));
 
             // 备用联系人
-            announcement.setBackupContactPerson(getDetailValueByLabel(driver, "备用联系人"));
+            announcement.setBackupContactPerson(detail.getValueByLabel("备用联系人"));
 
             // 联系电话
-            announcement.setContactPhone(getDetailValueByLabel(driver, "联系电话"));
+            announcement.setContactPhone(detail.getValueByLabel("联系电话"));
 
             // 备用联系电话
-            announcement.setBackupContactPhone(getDetailValueByLabel(driver, "备用联系电话"));
+            announcement.setBackupContactPhone(detail.getValueByLabel("备用联系电话"));
 
             // 传真
-            announcement.setFax(getDetailValueByLabel(driver, "传真"));
+            announcement.setFax(detail.getValueByLabel("传真"));
 
             // 电子邮箱
-            announcement.setEmail(getDetailValueByLabel(driver, "电子邮箱"));
+            announcement.setEmail(detail.getValueByLabel("电子邮箱"));
 
             // 项目介绍
-            announcement.setProjectIntro(getDetailValueByLabel(driver, "项目介绍"));
+            announcement.setProjectIntro(detail.getValueByLabel("项目介绍"));
 
             // 1. 公告文件下载
 //            announcement.setFileDownloadUrl(captureDownload(driver, "下载公告文件", "公告下载", "下载公告"));
@@ -171,18 +192,16 @@ public class BiddingAnnouncementParser extends AbstractAnnouncementParser {
     /**
      * 解析变更公告部分
      */
-    private void parseChangeAnnouncement(WebDriver driver, BiddingAnnouncement announcement) {
+    private void parseChangeAnnouncement(DetailValueResolver detail, BiddingAnnouncement announcement) {
         try {
             // 检查是否有变更公告
-            try {
-                driver.findElement(By.xpath("//*[contains(text(),'变更公告')]"));
-            } catch (Exception e) {
+            if (!detail.containsText("变更公告")) {
                 // 没有变更公告部分
                 return;
             }
 
             // 变更公告内容
-            announcement.setChangeContent(getDetailValueByLabel(driver, "变更公告内容"));
+            announcement.setChangeContent(detail.getValueByLabel("变更公告内容"));
 
             // 3. 变更公告文件下载
 //            announcement.setChangeFileUrl(captureDownload(driver, "下载变更公告文件", "下载变更公告", "变更公告文件"));
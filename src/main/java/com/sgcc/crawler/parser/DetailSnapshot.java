@@ -0,0 +1,119 @@
+package com.sgcc.crawler.parser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 详情页DOM快照
+ * 通过一次 executeScript 抓取渲染后的详情页中所有带文本的元素及其相邻元素文本，
+ * 之后所有"标签 -> 值"的查找都在本地完成，不再产生 WebDriver 往返
+ * 查找顺序与 AbstractAnnouncementParser#getDetailValueByLabel 的 XPath 候选保持一致
+ */
+@Slf4j
+public class DetailSnapshot implements DetailValueResolver {
+
+    /**
+     * 每个元素输出: [标签名, 自身文本, 下一个兄弟元素文本, 父元素的下一个兄弟元素文本, 后续第一个同类兄弟元素文本]
+     * 同类兄弟: td/th 取后续 td，span 取后续 span，div 取后续 div
+     */
+    static final String SNAPSHOT_SCRIPT =
+            "function txt(e) { return e ? (e.innerText || e.textContent || '').trim() : ''; }" +
+            "function nextOf(e, tag) { for (var s = e.nextElementSibling; s; s = s.nextElementSibling) {" +
+            "  if (s.tagName === tag) return s; } return null; }" +
+            "var out = [];" +
+            "var all = document.body ? document.body.getElementsByTagName('*') : [];" +
+            "for (var i = 0; i < all.length; i++) {" +
+            "  var el = all[i], own = '';" +
+            "  for (var c = el.firstChild; c; c = c.nextSibling) { if (c.nodeType === 3) own += c.nodeValue; }" +
+            "  own = own.trim();" +
+            "  if (!own) continue;" +
+            "  var tag = el.tagName;" +
+            "  var sameTag = tag === 'TH' ? 'TD' : tag;" +
+            "  var same = (tag === 'TD' || tag === 'TH' || tag === 'SPAN' || tag === 'DIV') ? txt(nextOf(el, sameTag)) : '';" +
+            "  out.push([tag.toLowerCase(), own, txt(el.nextElementSibling)," +
+            "    txt(el.parentElement ? el.parentElement.nextElementSibling : null), same]);" +
+            "}" +
+            "return out;";
+
+    private static final int TAG = 0;
+    private static final int OWN_TEXT = 1;
+    private static final int NEXT_SIBLING = 2;
+    private static final int PARENT_NEXT_SIBLING = 3;
+    private static final int NEXT_SAME_TAG = 4;
+
+    private final List<String[]> nodes;
+
+    private DetailSnapshot(List<String[]> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * 抓取当前页面的详情快照
+     * @return 快照，抓取失败返回 null
+     */
+    public static DetailSnapshot capture(WebDriver driver) {
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+            if (!(raw instanceof List<?> list)) {
+                return null;
+            }
+            List<String[]> nodes = new ArrayList<>(list.size());
+            for (Object item : list) {
+                if (item instanceof List<?> fields && fields.size() == 5) {
+                    String[] node = new String[5];
+                    for (int i = 0; i < 5; i++) {
+                        Object value = fields.get(i);
+                        node[i] = value != null ? value.toString() : "";
+                    }
+                    nodes.add(node);
+                }
+            }
+            log.debug("详情页快照抓取完成, 共 {} 个文本节点", nodes.size());
+            return new DetailSnapshot(Collections.unmodifiableList(nodes));
+        } catch (Exception e) {
+            log.warn("详情页快照抓取失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public String getValueByLabel(String labelText) {
+        String value;
+        // 对应 //*[contains(text(),'x')]/following-sibling::*[1]
+        if (!(value = find(null, labelText, NEXT_SIBLING)).isEmpty()) return value;
+        // 对应 //*[contains(text(),'x')]/../following-sibling::*[1]
+        if (!(value = find(null, labelText, PARENT_NEXT_SIBLING)).isEmpty()) return value;
+        // 对应 //td|th|span|div[contains(text(),'x')]/following-sibling::同类[1]
+        if (!(value = find("td", labelText, NEXT_SAME_TAG)).isEmpty()) return value;
+        if (!(value = find("th", labelText, NEXT_SAME_TAG)).isEmpty()) return value;
+        if (!(value = find("span", labelText, NEXT_SAME_TAG)).isEmpty()) return value;
+        return find("div", labelText, NEXT_SAME_TAG);
+    }
+
+    @Override
+    public boolean containsText(String text) {
+        for (String[] node : nodes) {
+            if (node[OWN_TEXT].contains(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 与 findElement 语义一致：取文档顺序中第一个匹配的元素
+     */
+    private String find(String tag, String labelText, int field) {
+        for (String[] node : nodes) {
+            if ((tag == null || tag.equals(node[TAG])) && node[OWN_TEXT].contains(labelText)) {
+                return node[field];
+            }
+        }
+        return "";
+    }
+}
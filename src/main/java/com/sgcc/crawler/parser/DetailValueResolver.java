@@ -0,0 +1,20 @@
+package com.sgcc.crawler.parser;
+
+/**
+ * 详情页字段取值接口
+ * 屏蔽逐个标签实时查询与DOM快照本地解析两种实现的差异
+ */
+public interface DetailValueResolver {
+
+    /**
+     * 根据标签文本获取对应的值
+     * @param labelText 标签文本（如"联系人"）
+     * @return 对应的值，未找到返回空字符串
+     */
+    String getValueByLabel(String labelText);
+
+    /**
+     * 页面中是否存在包含指定文本的元素
+     */
+    boolean containsText(String text);
+}
@@ -0,0 +1,103 @@
+package com.sgcc.crawler.parser;
+
+import cn.hutool.json.JSON;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 门户接口JSON响应映射工具
+ * 门户接口字段名未公开且可能调整，这里按候选字段名依次匹配，取第一个非空值
+ */
+@Slf4j
+public final class JsonPayloadMapper {
+
+    private JsonPayloadMapper() {
+    }
+
+    /**
+     * 解析JSON文本，非法时返回 null
+     */
+    public static JSON parse(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return JSONUtil.parse(json);
+        } catch (Exception e) {
+            log.debug("JSON解析失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 在响应中查找记录列表：取元素最多的对象数组
+     */
+    public static List<JSONObject> findRecords(JSON root) {
+        List<JSONObject> best = new ArrayList<>();
+        if (root == null) {
+            return best;
+        }
+        Deque<Object> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Object node = queue.poll();
+            if (node instanceof JSONObject obj) {
+                queue.addAll(obj.values());
+            } else if (node instanceof JSONArray array) {
+                List<JSONObject> objects = new ArrayList<>();
+                for (Object item : array) {
+                    if (item instanceof JSONObject obj) {
+                        objects.add(obj);
+                    }
+                    queue.add(item);
+                }
+                if (objects.size() > best.size()) {
+                    best = objects;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 查找详情对象：优先取常见的包装字段，否则返回根对象
+     */
+    public static JSONObject findDetail(JSON root) {
+        if (!(root instanceof JSONObject obj)) {
+            return null;
+        }
+        for (String key : new String[]{"resultValue", "data", "result"}) {
+            Object value = obj.get(key);
+            if (value instanceof JSONObject inner) {
+                return inner;
+            }
+        }
+        return obj;
+    }
+
+    /**
+     * 按候选字段名取第一个非空值，均不存在返回空字符串
+     */
+    public static String pick(JSONObject obj, String... keys) {
+        if (obj == null) {
+            return "";
+        }
+        for (String key : keys) {
+            Object value = obj.get(key);
+            if (value != null && !(value instanceof JSON)) {
+                String text = value.toString().trim();
+                if (!text.isEmpty() && !"null".equals(text)) {
+                    return text;
+                }
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,43 @@
+package com.sgcc.crawler.parser;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * 列表行批量抽取结果
+ * 由一次脚本调用取回的单元格文本与链接，解析时无需再访问浏览器
+ */
+@Getter
+@AllArgsConstructor
+public class ListRowData {
+
+    /**
+     * 行序号（从0开始）
+     */
+    private final int index;
+
+    /**
+     * 行元素（供后续点击进入详情使用）
+     */
+    private final WebElement element;
+
+    /**
+     * 各单元格文本
+     */
+    private final List<String> cells;
+
+    /**
+     * 行内链接地址
+     */
+    private final List<String> hrefs;
+
+    /**
+     * 安全获取单元格文本
+     */
+    public String cell(int i) {
+        return i < cells.size() ? cells.get(i) : "";
+    }
+}
@@ -1,5 +1,8 @@
 package com.sgcc.crawler.parser;
 
+import com.sgcc.crawler.browser.PageWaiter;
+import com.sgcc.crawler.browser.SelectorRanking;
+import com.sgcc.crawler.config.CrawlerConfig;
 import com.sgcc.crawler.entity.AnnouncementType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,12 +23,27 @@ public class ParserFactory {
     @Autowired(required = false)
     private List<AnnouncementParser> parsers;
 
+    @Autowired
+    private CrawlerConfig crawlerConfig;
+
+    @Autowired
+    private PageWaiter pageWaiter;
+
+    @Autowired
+    private SelectorRanking selectorRanking;
+
     private final Map<AnnouncementType, AnnouncementParser> parserMap = new HashMap<>();
 
     @PostConstruct
     public void init() {
         if (parsers != null) {
             for (AnnouncementParser parser : parsers) {
+                if (parser instanceof AbstractAnnouncementParser abstractParser) {
+                    abstractParser.setElementWaitTimeout(crawlerConfig.getElementWaitTimeout());
+                    abstractParser.setSnapshotDetailEnabled(crawlerConfig.isSnapshotDetailParse());
+                    abstractParser.setPageWaiter(pageWaiter);
+                    abstractParser.setSelectorRanking(selectorRanking);
+                }
                 parserMap.put(parser.getSupportedType(), parser);
                 log.info("注册解析器: {} -> {}", parser.getSupportedType(), parser.getClass().getSimpleName());
             }
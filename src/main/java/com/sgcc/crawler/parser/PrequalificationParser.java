@@ -1,5 +1,6 @@
 package com.sgcc.crawler.parser;
 
+import com.sgcc.crawler.browser.ElementLookup;
 import com.sgcc.crawler.entity.AnnouncementType;
 import com.sgcc.crawler.entity.BiddingAnnouncement;
 import lombok.extern.slf4j.Slf4j;
@@ -33,10 +34,10 @@ public class PrequalificationParser extends AbstractAnnouncementParser {
         BiddingAnnouncement announcement = new BiddingAnnouncement();
 
         try {
-            List<WebElement> cells = row.findElements(By.tagName("td"));
+            List<WebElement> cells = ElementLookup.probeAll(row, By.tagName("td"));
             
             if (cells.isEmpty()) {
-                cells = row.findElements(By.cssSelector(".cell, .el-table__cell, [class*='col']"));
+                cells = ElementLookup.probeAll(row, By.cssSelector(".cell, .el-table__cell, [class*='col']"));
             }
 
             if (cells.size() >= 4) {
@@ -57,11 +58,30 @@ public class PrequalificationParser extends AbstractAnnouncementParser {
         return announcement;
     }
 
+    @Override
+    public BiddingAnnouncement parseListRow(ListRowData row) {
+        BiddingAnnouncement announcement = new BiddingAnnouncement();
+
+        if (row.getCells().size() >= 4) {
+            announcement.setProjectName(row.cell(0));
+            announcement.setProjectCode(row.cell(1));
+            announcement.setProjectStatus(row.cell(2));
+            announcement.setPublishTime(parseDateTime(row.cell(3)));
+        }
+
+        if (!row.getHrefs().isEmpty()) {
+            announcement.setDetailUrl(row.getHrefs().get(0));
+        }
+
+        log.debug("解析资格预审公告: {} - {}", announcement.getProjectCode(), announcement.getProjectName());
+        return announcement;
+    }
+
     @Override
     public String getDetailUrl(WebElement row) {
         try {
-            WebElement link = row.findElement(By.tagName("a"));
-            return link.getAttribute("href");
+            WebElement link = ElementLookup.probe(row, By.tagName("a"));
+            return link != null ? link.getAttribute("href") : null;
         } catch (Exception e) {
             return null;
         }
@@ -73,31 +93,32 @@ public class PrequalificationParser extends AbstractAnnouncementParser {
             log.info("开始解析资格预审详情页: {}", driver.getCurrentUrl());
             announcement.setDetailUrl(driver.getCurrentUrl());
 
-            randomSleep(1000, 2000);
+            waitForDetailReady(driver);
+            DetailValueResolver detail = createDetailResolver(driver);
 
             // 资格预审公告的字段与招标公告类似，但可能有不同的结构
             // 这里提供差异化解析逻辑
 
             // 采购项目名称
-            String title = getDetailValueByLabel(driver, "采购项目名称");
+            String title = detail.getValueByLabel("采购项目名称");
             if (!title.isEmpty()) {
                 announcement.setProcurementName(title);
             }
 
             // 采购项目编号
-            String code = getDetailValueByLabel(driver, "采购项目编号");
+            String code = detail.getValueByLabel("采购项目编号");
             if (!code.isEmpty()) {
                 announcement.setProjectCode(code);
             }
 
             // 项目状态
-            announcement.setProjectStatus(getDetailValueByLabel(driver, "采购项目状态"));
+            announcement.setProjectStatus(detail.getValueByLabel("采购项目状态"));
 
             // 资格预审特有字段处理
-            parsePrequalificationSpecificFields(driver, announcement);
+            parsePrequalificationSpecificFields(detail, announcement);
 
             // 联系信息
-            parseContactInfo(driver, announcement);
+            parseContactInfo(detail, announcement);
 
             log.info("资格预审详情解析完成: {}", announcement.getProjectCode());
 
@@ -111,24 +132,24 @@ public class PrequalificationParser extends AbstractAnnouncementParser {
     /**
      * 解析资格预审特有字段
      */
-    private void parsePrequalificationSpecificFields(WebDriver driver, BiddingAnnouncement announcement) {
+    private void parsePrequalificationSpecificFields(DetailValueResolver detail, BiddingAnnouncement announcement) {
         try {
             // 资格预审文件获取截止时间
-            String deadline = getDetailValueByLabel(driver, "资格预审文件获取截止时间");
+            String deadline = detail.getValueByLabel("资格预审文件获取截止时间");
             if (deadline.isEmpty()) {
-                deadline = getDetailValueByLabel(driver, "招标文件获取截止时间");
+                deadline = detail.getValueByLabel("招标文件获取截止时间");
             }
             announcement.setFileDeadline(parseDateTime(deadline));
 
             // 资格预审截止时间
-            String bidTime = getDetailValueByLabel(driver, "资格预审截止时间");
+            String bidTime = detail.getValueByLabel("资格预审截止时间");
             if (bidTime.isEmpty()) {
-                bidTime = getDetailValueByLabel(driver, "开标时间");
+                bidTime = detail.getValueByLabel("开标时间");
             }
             announcement.setBidOpenTime(parseDateTime(bidTime));
 
             // 招标人
-            announcement.setTenderer(getDetailValueByLabel(driver, "招标人"));
+            announcement.setTenderer(detail.getValueByLabel("招标人"));
 
         } catch (Exception e) {
             log.debug("解析资格预审特有字段失败: {}", e.getMessage());
@@ -138,11 +159,11 @@ public class PrequalificationParser extends AbstractAnnouncementParser {
     /**
      * 解析联系信息
      */
-    private void parseContactInfo(WebDriver driver, BiddingAnnouncement announcement) {
+    private void parseContactInfo(DetailValueResolver detail, BiddingAnnouncement announcement) {
         try {
-            announcement.setContactPerson(getDetailValueByLabel(driver, "联系人"));
-            announcement.setContactPhone(getDetailValueByLabel(driver, "联系电话"));
-            announcement.setEmail(getDetailValueByLabel(driver, "电子邮箱"));
+            announcement.setContactPerson(detail.getValueByLabel("联系人"));
+            announcement.setContactPhone(detail.getValueByLabel("联系电话"));
+            announcement.setEmail(detail.getValueByLabel("电子邮箱"));
 
         } catch (Exception e) {
             log.debug("解析联系信息失败: {}", e.getMessage());
@@ -4,6 +4,7 @@ import com.sgcc.crawler.entity.AnnouncementType;
 import com.sgcc.crawler.entity.BiddingAnnouncement;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 公告爬虫服务接口
@@ -47,4 +48,11 @@ public interface AnnouncementCrawlerService {
      * @return 新增数量
      */
     int testCrawlAndSave(AnnouncementType type, int limit);
+
+    /**
+     * 并行爬取所有已注册解析器的公告类型并保存
+     * 每个类型使用独立的浏览器会话，整体耗时约等于最慢的类型
+     * @return 各类型新增数量
+     */
+    Map<AnnouncementType, Integer> crawlAllAndSave();
 }
@@ -0,0 +1,54 @@
+package com.sgcc.crawler.service;
+
+import com.sgcc.crawler.entity.AnnouncementType;
+import com.sgcc.crawler.entity.BiddingAnnouncement;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 公告入库服务接口
+ */
+public interface AnnouncementStoreService {
+
+    /**
+     * 内容指纹去重 + 变更检测 + 分类推送
+     * 新值为空而旧值非空同样计为变更
+     * @param announcements 爬取到的公告
+     * @param type 公告类型
+     * @return 新增数量
+     */
+    int saveWithDedup(List<BiddingAnnouncement> announcements, AnnouncementType type);
+
+    /**
+     * 内容指纹去重 + 变更检测 + 分类推送
+     * @param announcements 爬取到的公告
+     * @param type 公告类型
+     * @param ignoreMissingFields 新值为空时视为未采集到该字段，不计为变更（用于接口通道等字段可能不全的来源）
+     * @return 新增数量
+     */
+    int saveWithDedup(List<BiddingAnnouncement> announcements, AnnouncementType type, boolean ignoreMissingFields);
+
+    /**
+     * 计算身份指纹
+     * @param announcement 公告
+     * @return 指纹
+     */
+    String computeContentHash(BiddingAnnouncement announcement);
+
+    /**
+     * 批量查询已入库的公告（按 dedup-lookup-chunk-size 分批 IN 查询）
+     * @param contentHashes 内容指纹
+     * @return 指纹 -> 已有记录
+     */
+    Map<String, BiddingAnnouncement> findExisting(Collection<String> contentHashes);
+
+    /**
+     * 判断哪些指纹已入库（指纹索引已加载时不访问数据库）
+     * @param contentHashes 内容指纹
+     * @return 已入库的指纹
+     */
+    Set<String> findKnownHashes(Collection<String> contentHashes);
+}
@@ -2,6 +2,8 @@ package com.sgcc.crawler.service;
 
 import com.sgcc.crawler.entity.BiddingAnnouncement;
 import com.sgcc.crawler.entity.BiddingProject;
+import com.sgcc.crawler.entity.NotificationOutbox;
+import com.sgcc.crawler.notify.NotificationDigest;
 
 import java.util.List;
 
@@ -35,4 +37,9 @@ public interface NotifyService {
      * @param changedFields 变更的字段描述列表
      */
     void notifyAnnouncementUpdate(BiddingAnnouncement announcement, List<String> changedFields);
+
+    /**
+     * 将待发送的发件箱消息按事件类型与公告类型合并为摘要消息
+     */
+    List<NotificationDigest> buildDigests(List<NotificationOutbox> messages);
 }
@@ -0,0 +1,24 @@
+package com.sgcc.crawler.service;
+
+import com.sgcc.crawler.entity.BiddingAnnouncement;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量写入结果：区分实际插入与实际更新的记录，供后续推送使用
+ */
+@Getter
+public class UpsertResult {
+
+    /**
+     * 新插入的记录
+     */
+    private final List<BiddingAnnouncement> inserted = new ArrayList<>();
+
+    /**
+     * 已存在并被更新的记录
+     */
+    private final List<BiddingAnnouncement> updated = new ArrayList<>();
+}
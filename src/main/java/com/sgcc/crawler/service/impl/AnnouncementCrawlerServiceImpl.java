@@ -1,28 +1,40 @@
 package com.sgcc.crawler.service.impl;
 
+import com.sgcc.crawler.browser.ElementLookup;
+import com.sgcc.crawler.browser.ListPaginator;
+import com.sgcc.crawler.browser.NetworkCapture;
+import com.sgcc.crawler.browser.PageWaiter;
+import com.sgcc.crawler.browser.ResourceBlocker;
+import com.sgcc.crawler.browser.SelectorRanking;
+import com.sgcc.crawler.browser.WebDriverPool;
 import com.sgcc.crawler.config.CrawlerConfig;
-import com.sgcc.crawler.config.SeleniumConfig;
 import com.sgcc.crawler.entity.AnnouncementType;
 import com.sgcc.crawler.entity.BiddingAnnouncement;
-import com.sgcc.crawler.mapper.BiddingAnnouncementMapper;
+import com.sgcc.crawler.metrics.CrawlMetrics;
 import com.sgcc.crawler.parser.AnnouncementParser;
 import com.sgcc.crawler.parser.ParserFactory;
 import com.sgcc.crawler.service.AnnouncementCrawlerService;
-import com.sgcc.crawler.service.NotifyService;
+import com.sgcc.crawler.service.AnnouncementStoreService;
+import com.sgcc.crawler.throttle.AdaptiveRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 公告爬虫服务实现类
@@ -32,13 +44,15 @@ import java.util.Random;
 @RequiredArgsConstructor
 public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerService {
 
-    private final SeleniumConfig seleniumConfig;
+    private final WebDriverPool webDriverPool;
     private final CrawlerConfig crawlerConfig;
     private final ParserFactory parserFactory;
-    private final BiddingAnnouncementMapper announcementMapper;
-    private final NotifyService notifyService;
-
-    private static final Random random = new Random();
+    private final AnnouncementStoreService announcementStoreService;
+    private final PageWaiter pageWaiter;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CrawlMetrics crawlMetrics;
+    private final ResourceBlocker resourceBlocker;
+    private final SelectorRanking selectorRanking;
 
     @Override
     public List<BiddingAnnouncement> crawlAnnouncements(AnnouncementType type) {
@@ -48,18 +62,28 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
     @Override
     public List<BiddingAnnouncement> crawlAnnouncements(AnnouncementType type, boolean fetchDetail, int limit) {
         List<BiddingAnnouncement> announcements = new ArrayList<>();
-        WebDriver driver = null;
+        crawlPages(type, fetchDetail, limit, announcements::addAll);
+        return announcements;
+    }
 
+    /**
+     * 借用浏览器逐页爬取，每页处理完成后交给 pageHandler
+     */
+    private void crawlPages(AnnouncementType type, boolean fetchDetail, int limit,
+                            Consumer<List<BiddingAnnouncement>> pageHandler) {
+        WebDriver driver = null;
         try {
-            driver = seleniumConfig.createWebDriver();
-            announcements = doCrawl(driver, type, fetchDetail, limit);
+            driver = webDriverPool.borrow();
+            doCrawl(driver, type, fetchDetail, limit, pageHandler);
+        } catch (WebDriverException e) {
+            log.error("爬取公告失败，浏览器异常，实例作废: {}", type, e);
+            webDriverPool.invalidate(driver);
+            driver = null;
         } catch (Exception e) {
             log.error("爬取公告失败: {}", type, e);
         } finally {
-            quitDriver(driver);
+            webDriverPool.release(driver);
         }
-
-        return announcements;
     }
 
     @Override
@@ -71,7 +95,7 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
 
         WebDriver driver = null;
         try {
-            driver = seleniumConfig.createWebDriver();
+            driver = webDriverPool.borrow();
             
             AnnouncementParser parser = parserFactory.getParser(
                     AnnouncementType.valueOf(announcement.getAnnouncementType())
@@ -79,16 +103,23 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
             
             if (parser != null) {
                 // 访问详情页
+                throttle();
+                long start = System.currentTimeMillis();
                 driver.get(announcement.getDetailUrl());
-                randomSleep();
+                feedback(pageWaiter.await(driver, d -> isDetailReady(d) ? true : null,
+                        Duration.ofSeconds(crawlerConfig.getPageLoadTimeout())) != null, start);
                 
                 // 解析详情
                 announcement = parser.parseDetail(driver, announcement);
             }
+        } catch (WebDriverException e) {
+            log.error("爬取公告详情失败，浏览器异常，实例作废: {}", announcement.getProjectCode(), e);
+            webDriverPool.invalidate(driver);
+            driver = null;
         } catch (Exception e) {
             log.error("爬取公告详情失败: {}", announcement.getProjectCode(), e);
         } finally {
-            quitDriver(driver);
+            webDriverPool.release(driver);
         }
 
         return announcement;
@@ -97,258 +128,511 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
     @Override
     public int manualCrawlAndSave(AnnouncementType type) {
         log.info("开始手动爬取[{}]", type.getDisplayName());
-        List<BiddingAnnouncement> announcements = crawlAnnouncements(type, true, -1);
-        return saveAnnouncementsWithDedup(announcements, type);
+        AtomicInteger newCount = new AtomicInteger();
+        crawlPages(type, true, -1, page -> newCount.addAndGet(announcementStoreService.saveWithDedup(page, type)));
+        return newCount.get();
     }
 
     @Override
     public int testCrawlAndSave(AnnouncementType type, int limit) {
         log.info("开始测试爬取[{}], 限制条数: {}", type.getDisplayName(), limit);
-        List<BiddingAnnouncement> announcements = crawlAnnouncements(type, true, limit);
-        return saveAnnouncementsWithDedup(announcements, type);
+        AtomicInteger newCount = new AtomicInteger();
+        crawlPages(type, true, limit, page -> newCount.addAndGet(announcementStoreService.saveWithDedup(page, type)));
+        return newCount.get();
+    }
+
+    @Override
+    public Map<AnnouncementType, Integer> crawlAllAndSave() {
+        return crawlAllAndSave(this::manualCrawlAndSave);
     }
 
     /**
-     * 统一入库方法：内容指纹去重 + 变更检测 + 分类推送
+     * 按 crawl-all-parallelism 并行爬取全部已注册类型，单个类型失败记为 0 条
+     * @param crawlAndSave 单个类型的爬取入库逻辑，返回新增条数（HTTP直连实现复用本方法的并发调度）
      */
-    private int saveAnnouncementsWithDedup(List<BiddingAnnouncement> announcements, AnnouncementType type) {
-        int newCount = 0;
-        int updateCount = 0;
-        int skipCount = 0;
+    public Map<AnnouncementType, Integer> crawlAllAndSave(Function<AnnouncementType, Integer> crawlAndSave) {
+        List<AnnouncementType> types = Arrays.stream(AnnouncementType.values())
+                .filter(parserFactory::supports)
+                .toList();
+        Map<AnnouncementType, Integer> result = new EnumMap<>(AnnouncementType.class);
+        if (types.isEmpty()) {
+            log.warn("没有已注册解析器的公告类型，跳过全类型爬取");
+            return result;
+        }
 
-        for (BiddingAnnouncement announcement : announcements) {
-            try {
-                // 校验唯一键字段
-                if (announcement.getProjectCode() == null || announcement.getProjectCode().isBlank()) {
-                    log.warn("跳过无项目编号的公告: {}", announcement.getProjectName());
-                    continue;
-                }
+        int parallelism = Math.max(1, Math.min(types.size(), crawlerConfig.getCrawlAllParallelism()));
+        if (crawlerConfig.isDriverPoolEnabled()) {
+            parallelism = Math.min(parallelism, crawlerConfig.getDriverPoolMaxSize());
+        }
+        log.info("开始全类型爬取: {} 个类型, 并发数 {}", types.size(), parallelism);
+        long start = System.currentTimeMillis();
 
-                // 计算身份指纹
-                String hash = computeContentHash(announcement);
-                announcement.setContentHash(hash);
-
-                // 通过 contentHash 查询已有记录
-                BiddingAnnouncement existing = announcementMapper.selectByContentHash(hash);
-
-                if (existing == null) {
-                    // === 新公告：插入 + 推送 ===
-                    announcement.setNotified(0);
-                    announcement.setCreatedAt(LocalDateTime.now());
-                    announcement.setUpdatedAt(LocalDateTime.now());
-                    announcementMapper.insert(announcement);
-                    newCount++;
-                    log.info("新增公告[{}]: {} - {}", type.getDisplayName(),
-                            announcement.getProjectCode(), announcement.getProjectName());
-
-                    try {
-                        notifyService.notifyNewAnnouncement(announcement);
-                        announcement.setNotified(1);
-                        announcementMapper.updateById(announcement);
-                    } catch (Exception e) {
-                        log.warn("新公告推送失败: {}", e.getMessage());
-                    }
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                r -> new Thread(r, "crawl-all-" + threadIndex.incrementAndGet()));
+        try {
+            Map<AnnouncementType, Future<Integer>> futures = new LinkedHashMap<>();
+            for (AnnouncementType type : types) {
+                futures.put(type, executor.submit(() -> crawlAndSave.apply(type)));
+            }
 
-                } else {
-                    // === 已存在：检测变更 ===
-                    List<String> changedFields = detectChangedFields(existing, announcement);
-                    if (!changedFields.isEmpty()) {
-                        mergeUpdatedFields(existing, announcement);
-                        existing.setUpdatedAt(LocalDateTime.now());
-                        announcementMapper.updateById(existing);
-                        updateCount++;
-                        log.info("更新公告[{}]: {} - {}, 变更: {}",
-                                type.getDisplayName(), existing.getProjectCode(),
-                                existing.getProjectName(), changedFields);
-
-                        try {
-                            notifyService.notifyAnnouncementUpdate(existing, changedFields);
-                        } catch (Exception e) {
-                            log.warn("公告变更推送失败: {}", e.getMessage());
-                        }
-                    } else {
-                        skipCount++;
-                        log.debug("公告未变更，跳过: {} - {}", existing.getProjectCode(), existing.getProjectName());
-                    }
+            for (Map.Entry<AnnouncementType, Future<Integer>> entry : futures.entrySet()) {
+                try {
+                    result.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    log.error("爬取[{}]失败", entry.getKey().getDisplayName(), e.getCause());
+                    result.put(entry.getKey(), 0);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("全类型爬取被中断");
+                    break;
                 }
-            } catch (Exception e) {
-                log.error("保存公告失败: {}", announcement.getProjectCode(), e);
             }
+        } finally {
+            executor.shutdownNow();
         }
 
-        log.info("爬取入库完成[{}]: 新增 {} 条, 更新 {} 条, 跳过 {} 条",
-                type.getDisplayName(), newCount, updateCount, skipCount);
-        return newCount;
+        log.info("全类型爬取完成, 耗时 {} ms, 新增: {}", System.currentTimeMillis() - start, result);
+        return result;
     }
 
     /**
      * 执行爬取逻辑
+     * 按 max-pages 逐页翻页，每页解析并获取详情后立即交给 pageHandler，不在内存中累积全部页
      */
-    private List<BiddingAnnouncement> doCrawl(WebDriver driver, AnnouncementType type, boolean fetchDetail, int limit) {
-        List<BiddingAnnouncement> announcements = new ArrayList<>();
+    private void doCrawl(WebDriver driver, AnnouncementType type, boolean fetchDetail, int limit,
+                         Consumer<List<BiddingAnnouncement>> pageHandler) {
+        NetworkCapture listCapture = null;
 
         try {
-            // 1. 访问首页
-            log.info("正在访问首页...");
-            driver.get(crawlerConfig.getTargetUrl());
-            randomSleep();
-
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(crawlerConfig.getElementWaitTimeout()));
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("body")));
-
-            // 2. 点击招标采购导航
-            log.info("正在点击招标采购导航...");
-            if (!clickBiddingNav(driver, wait)) {
-                log.error("未能进入招标采购页面");
-                return announcements;
+            AnnouncementParser parser = parserFactory.getParser(type);
+            if (parser == null) {
+                log.error("未找到类型 {} 的解析器", type);
+                return;
             }
-            randomSleep();
 
-            // 3. 点击对应的Tab
-            log.info("正在切换到Tab: {}", type.getDisplayName());
-            if (!clickTab(driver, wait, type)) {
-                log.error("未能切换到Tab: {}", type.getDisplayName());
-                return announcements;
+            // 0. 直达列表路由，成功则跳过首页、导航及Tab点击
+            boolean deepLinked = false;
+            if (crawlerConfig.isDeepLinkEnabled()) {
+                if (crawlerConfig.isNetworkCaptureEnabled()) {
+                    listCapture = attachListCapture(driver);
+                }
+                deepLinked = openDeepLink(driver, type);
+                if (!deepLinked && listCapture != null) {
+                    listCapture.close();
+                    listCapture = null;
+                }
             }
-            randomSleep();
 
-            // 4. 等待列表加载
-            waitForListLoad(driver, wait);
+            if (!deepLinked) {
+                // 1. 访问首页
+                log.info("正在访问首页...");
+                throttle();
+                long start = System.currentTimeMillis();
+                long homeStart = crawlMetrics.start();
+                driver.get(crawlerConfig.getTargetUrl());
+                boolean homeReady = pageWaiter.documentReady(driver);
+                feedback(homeReady, start);
+                crawlMetrics.record(CrawlMetrics.NAV_HOME, type, homeReady, homeStart);
+
+                pageWaiter.require(driver, By.cssSelector("body"));
+
+                // 开启网络捕获，记录导航及Tab切换触发的列表接口响应
+                if (crawlerConfig.isNetworkCaptureEnabled()) {
+                    listCapture = attachListCapture(driver);
+                }
 
-            // 5. 使用对应解析器解析列表
-            AnnouncementParser parser = parserFactory.getParser(type);
-            if (parser == null) {
-                log.error("未找到类型 {} 的解析器", type);
-                return announcements;
-            }
+                // 2. 点击招标采购导航
+                log.info("正在点击招标采购导航...");
+                throttle();
+                long navStart = crawlMetrics.start();
+                boolean navigated = clickBiddingNav(driver);
+                crawlMetrics.record(CrawlMetrics.NAV_CLICK, type, navigated, navStart);
+                if (!navigated) {
+                    log.error("未能进入招标采购页面");
+                    return;
+                }
 
-            announcements = parser.parseList(driver);
-            
-            // 如果有限制条数，截断列表
-            if (limit > 0 && announcements.size() > limit) {
-                announcements = announcements.subList(0, limit);
-                log.info("截断列表，仅保留前 {} 条记录", limit);
+                // 3. 点击对应的Tab
+                log.info("正在切换到Tab: {}", type.getDisplayName());
+                throttle();
+                long tabStart = crawlMetrics.start();
+                boolean switched = clickTab(driver, type);
+                crawlMetrics.record(CrawlMetrics.TAB_CLICK, type, switched, tabStart);
+                if (!switched) {
+                    log.error("未能切换到Tab: {}", type.getDisplayName());
+                    return;
+                }
             }
-            
-            log.info("待处理公告数量: {}", announcements.size());
 
-            // 6. 如果需要获取详情
-            if (fetchDetail && !announcements.isEmpty()) {
-                // 此时在同一个会话中，announcements 中的 webElement 是有效的
-                announcements = fetchDetails(driver, parser, announcements);
+            // 4. 逐页解析
+            ListPaginator paginator = new ListPaginator(driver, () -> firstRowSignature(driver, parser),
+                    Duration.ofSeconds(crawlerConfig.getPageLoadTimeout()));
+            int maxPages = Math.max(1, crawlerConfig.getMaxPages());
+            int total = 0;
+            IncrementalCrawlFilter incremental = crawlerConfig.isIncrementalEnabled()
+                    ? new IncrementalCrawlFilter(announcementStoreService, crawlerConfig.getIncrementalStopAfterKnown())
+                    : null;
+
+            for (int page = 1; page <= maxPages; page++) {
+                if (page > 1) {
+                    if (!paginator.hasNextPage()) {
+                        log.info("[{}] 已到最后一页: 第 {} 页", type.getDisplayName(), page - 1);
+                        break;
+                    }
+                    if (crawlerConfig.isNetworkCaptureEnabled()) {
+                        listCapture = attachListCapture(driver);
+                    }
+                    throttle();
+                    long turnStart = System.currentTimeMillis();
+                    long loadStart = crawlMetrics.start();
+                    boolean turned = paginator.nextPage();
+                    feedback(turned, turnStart);
+                    crawlMetrics.record(CrawlMetrics.LIST_LOAD, type, turned, loadStart);
+                    if (!turned) {
+                        log.warn("[{}] 翻到第 {} 页失败，结束本次爬取", type.getDisplayName(), page);
+                        break;
+                    }
+                }
+
+                List<BiddingAnnouncement> announcements = parseCurrentPage(driver, parser, listCapture, page == 1);
+                listCapture = null;
+                if (announcements.isEmpty()) {
+                    log.info("[{}] 第 {} 页没有数据", type.getDisplayName(), page);
+                    break;
+                }
+                if (page == 1) {
+                    // 按分页组件的末页页码收紧上限，末页处理完后不再回页或尝试翻页
+                    maxPages = Math.min(maxPages, paginator.lastPage());
+                    log.info("[{}] 本次最多爬取 {} 页", type.getDisplayName(), maxPages);
+                }
+                for (int i = 0; i < announcements.size(); i++) {
+                    announcements.get(i).setListIndex(i);
+                }
+
+                // 增量模式：点击详情前跳过已入库公告
+                if (incremental != null) {
+                    int rows = announcements.size();
+                    announcements = incremental.filter(announcements);
+                    log.info("[{}] 第 {} 页增量过滤: {} 条中 {} 条为新公告",
+                            type.getDisplayName(), page, rows, announcements.size());
+                }
+
+                // 如果有限制条数，截断列表
+                if (limit > 0 && total + announcements.size() > limit) {
+                    announcements = new ArrayList<>(announcements.subList(0, limit - total));
+                    log.info("截断列表，仅保留前 {} 条记录", limit);
+                }
+
+                log.info("[{}] 第 {} 页待处理公告数量: {}", type.getDisplayName(), page, announcements.size());
+
+                // 5. 如果需要获取详情
+                if (fetchDetail) {
+                    // 此时在同一个会话中，announcements 中的 webElement 是有效的
+                    announcements = fetchDetails(driver, parser, announcements);
+                }
+
+                total += announcements.size();
+                if (!announcements.isEmpty()) {
+                    pageHandler.accept(announcements);
+                }
+
+                if ((limit > 0 && total >= limit) || (incremental != null && incremental.isExhausted())) {
+                    break;
+                }
+                // 详情页在当前页跳转并后退时，列表可能回到第1页
+                if (page < maxPages && fetchDetail && !paginator.goToPage(page)) {
+                    log.warn("[{}] 无法回到第 {} 页，结束本次爬取", type.getDisplayName(), page);
+                    break;
+                }
             }
 
+            log.info("[{}] 分页爬取结束，共处理 {} 条{}", type.getDisplayName(), total,
+                    incremental != null ? "，跳过已入库 " + incremental.getSkipped() + " 条" : "");
+
+        } catch (WebDriverException e) {
+            // 浏览器或会话异常交给借用方作废实例，不归还池中复用
+            throw e;
         } catch (Exception e) {
             log.error("爬取过程出错", e);
+        } finally {
+            if (listCapture != null) {
+                listCapture.close();
+            }
         }
+    }
 
+    /**
+     * 解析当前列表页：优先使用网络捕获到的列表接口JSON，未捕获到时解析DOM
+     * 传入的捕获器在此方法内关闭
+     */
+    private List<BiddingAnnouncement> parseCurrentPage(WebDriver driver, AnnouncementParser parser,
+                                                       NetworkCapture listCapture, boolean firstPage) {
+        AnnouncementType type = parser.getSupportedType();
+        List<BiddingAnnouncement> announcements = new ArrayList<>();
+        if (listCapture != null) {
+            long loadStart = crawlMetrics.start();
+            NetworkCapture.CapturedResponse payload = listCapture.awaitLast(
+                    crawlerConfig.getCaptureWaitTimeout() * 1000L, 1000);
+            listCapture.close();
+            if (firstPage) {
+                crawlMetrics.record(CrawlMetrics.LIST_LOAD, type, payload != null, loadStart);
+            }
+            if (payload != null) {
+                log.info("捕获到列表接口响应: {}", payload.getUrl());
+                long parseStart = crawlMetrics.start();
+                announcements = parser.parseListPayload(payload.getBody());
+                attachRowElements(driver, parser, announcements);
+                crawlMetrics.record(CrawlMetrics.LIST_PARSE, type, "payload", parseStart);
+                crawlMetrics.count(CrawlMetrics.LIST_PARSE, type, "payload", announcements.size());
+            } else {
+                log.warn("未捕获到列表接口响应，回退为DOM解析");
+            }
+        }
+
+        if (announcements.isEmpty()) {
+            if (firstPage) {
+                long loadStart = crawlMetrics.start();
+                waitForListLoad(driver);
+                crawlMetrics.record(CrawlMetrics.LIST_LOAD, type, CrawlMetrics.SUCCESS, loadStart);
+            }
+            long parseStart = crawlMetrics.start();
+            announcements = parser.parseList(driver);
+            crawlMetrics.record(CrawlMetrics.LIST_PARSE, type, "dom", parseStart);
+            crawlMetrics.count(CrawlMetrics.LIST_PARSE, type, "dom", announcements.size());
+        }
         return announcements;
     }
 
+    private NetworkCapture attachListCapture(WebDriver driver) {
+        return NetworkCapture.attach(driver, driver.getWindowHandle(),
+                url -> matchesAny(url, crawlerConfig.getCaptureListUrlKeywords()));
+    }
+
+    /**
+     * 列表首行文本，用于判断翻页是否完成
+     */
+    private String firstRowSignature(WebDriver driver, AnnouncementParser parser) {
+        try {
+            List<WebElement> rows = parser.findListRows(driver);
+            return rows.isEmpty() ? "" : rows.get(0).getText();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    /**
+     * 为接口解析出的公告关联列表行元素（行数一致时按顺序对应），供后续点击进入详情
+     */
+    private void attachRowElements(WebDriver driver, AnnouncementParser parser, List<BiddingAnnouncement> announcements) {
+        if (announcements.isEmpty()) {
+            return;
+        }
+        List<WebElement> rows = parser.findListRows(driver);
+        if (rows.size() == announcements.size()) {
+            for (int i = 0; i < rows.size(); i++) {
+                announcements.get(i).setWebElement(rows.get(i));
+            }
+        } else {
+            log.debug("列表行数 {} 与接口记录数 {} 不一致，详情阶段按序号重新定位", rows.size(), announcements.size());
+        }
+    }
+
+    private boolean matchesAny(String url, List<String> keywords) {
+        if (url == null || keywords == null) {
+            return false;
+        }
+        for (String keyword : keywords) {
+            if (url.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 直达公告类型的列表路由
+     * 页面加载后路由未被SPA重定向且列表行出现才视为成功，否则由调用方回退为逐级点击
+     */
+    private boolean openDeepLink(WebDriver driver, AnnouncementType type) {
+        String url = resolveDeepLink(type);
+        if (url == null) {
+            return false;
+        }
+        log.info("正在直达列表路由: {} -> {}", type.getDisplayName(), url);
+        throttle();
+        long start = System.currentTimeMillis();
+        long navStart = crawlMetrics.start();
+        boolean ready = false;
+        try {
+            driver.get(url);
+            int hash = url.indexOf('#');
+            String route = hash >= 0 ? url.substring(hash) : null;
+            ready = pageWaiter.documentReady(driver)
+                    && pageWaiter.await(driver, d -> listRowCount(d) > 0
+                            && (route == null || String.valueOf(d.getCurrentUrl()).contains(route))) != null;
+        } catch (Exception e) {
+            log.warn("直达列表路由失败: {}", e.getMessage());
+        }
+        feedback(ready, start);
+        crawlMetrics.record(CrawlMetrics.NAV_DEEP_LINK, type, ready, navStart);
+        if (!ready) {
+            log.warn("直达路由未进入 {} 列表，回退为逐级点击", type.getDisplayName());
+        }
+        return ready;
+    }
+
+    /**
+     * 按模板生成列表路由，模板需要 {menuId} 但该类型未配置时返回 null
+     */
+    private String resolveDeepLink(AnnouncementType type) {
+        String template = crawlerConfig.getDeepLinkUrlTemplate();
+        if (template == null || template.isBlank()) {
+            return null;
+        }
+        String menuId = crawlerConfig.getHttpMenuIds().get(type.name());
+        if (template.contains("{menuId}") && (menuId == null || menuId.isBlank())) {
+            log.debug("类型 {} 未配置菜单ID，跳过直达路由", type);
+            return null;
+        }
+        return template.replace("{biddingUrl}", crawlerConfig.getBiddingUrl())
+                .replace("{urlKey}", type.getUrlKey())
+                .replace("{menuId}", menuId != null ? menuId : "");
+    }
+
     /**
      * 点击招标采购导航
+     * 等待任一候选出现后，按命中排名零等待探测各候选
      */
-    private boolean clickBiddingNav(WebDriver driver, WebDriverWait wait) {
-        String[] navXpaths = {
+    private boolean clickBiddingNav(WebDriver driver) {
+        List<String> navXpaths = List.of(
                 "//a[contains(text(),'招标采购')]",
                 "//span[contains(text(),'招标采购')]",
                 "//div[contains(text(),'招标采购')]"
-        };
+        );
 
-        for (String xpath : navXpaths) {
-            try {
-                WebElement nav = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(xpath)));
-                clickElement(driver, nav);
-                log.info("成功点击招标采购导航");
-                return true;
-            } catch (Exception e) {
+        if (!pageWaiter.anyPresent(driver, navXpaths.stream().map(By::xpath).toArray(By[]::new))) {
+            return false;
+        }
+        Boolean clicked = selectorRanking.resolve("nav.bidding", navXpaths, xpath -> {
+            WebElement nav = ElementLookup.probe(driver, By.xpath(xpath));
+            if (nav == null) {
                 log.debug("XPath {} 未找到导航", xpath);
+                return null;
             }
-        }
-        return false;
+            clickElement(driver, nav);
+            log.info("成功点击招标采购导航");
+            return true;
+        });
+        return clicked != null;
     }
 
     /**
      * 点击Tab切换
+     * 等待任一候选出现后，按命中排名零等待探测各候选
      */
-    private boolean clickTab(WebDriver driver, WebDriverWait wait, AnnouncementType type) {
+    private boolean clickTab(WebDriver driver, AnnouncementType type) {
         AnnouncementParser parser = parserFactory.getParser(type);
         if (parser == null) return false;
 
         String tabSelector = parser.getTabSelector();
-        
-        // 尝试XPath
-        try {
-            WebElement tab = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(tabSelector)));
-            clickElement(driver, tab);
-            log.info("成功切换到Tab: {}", type.getDisplayName());
-            return true;
-        } catch (Exception e) {
-            log.debug("XPath {} 未找到Tab", tabSelector);
-        }
 
-        // 尝试文本匹配
-        String[] textPatterns = {
+        // 解析器提供的XPath优先，其次文本匹配；按命中排名调整尝试顺序
+        List<String> candidates = List.of(
+                tabSelector,
                 "//a[contains(text(),'" + type.getDisplayName() + "')]",
                 "//span[contains(text(),'" + type.getDisplayName() + "')]",
                 "//div[contains(text(),'" + type.getDisplayName() + "')]",
                 "//li[contains(text(),'" + type.getDisplayName() + "')]"
-        };
+        );
 
-        for (String xpath : textPatterns) {
-            try {
-                WebElement tab = driver.findElement(By.xpath(xpath));
-                clickElement(driver, tab);
-                log.info("通过文本匹配切换到Tab: {}", type.getDisplayName());
-                return true;
-            } catch (Exception e) {
-                log.debug("XPath {} 未找到", xpath);
-            }
+        if (!pageWaiter.anyPresent(driver, candidates.stream().map(By::xpath).toArray(By[]::new))) {
+            return false;
         }
+        Boolean clicked = selectorRanking.resolve("tab." + type.name(), candidates, xpath -> {
+            WebElement tab = ElementLookup.probe(driver, By.xpath(xpath));
+            if (tab == null) {
+                log.debug("XPath {} 未找到Tab", xpath);
+                return null;
+            }
+            clickElement(driver, tab);
+            log.info("成功切换到Tab: {}", type.getDisplayName());
+            return true;
+        });
+        return clicked != null;
+    }
 
-        return false;
+    /**
+     * 等待列表加载：行元素出现、加载遮罩消失且行数稳定
+     */
+    private void waitForListLoad(WebDriver driver) {
+        boolean ready = pageWaiter.anyPresent(driver,
+                By.cssSelector(".el-table__body tbody tr"),
+                By.cssSelector("table tbody tr"),
+                By.cssSelector(".list-item"),
+                By.cssSelector("[class*='list']"))
+                && pageWaiter.loadingDone(driver)
+                && pageWaiter.rowCountStable(driver, () -> listRowCount(driver));
+        if (!ready) {
+            log.warn("等待列表加载超时");
+        }
     }
 
     /**
-     * 等待列表加载
+     * 当前列表行数（脚本统计，不受隐式等待影响）
      */
-    private void waitForListLoad(WebDriver driver, WebDriverWait wait) {
+    private int listRowCount(WebDriver driver) {
         try {
-            wait.until(ExpectedConditions.or(
-                    ExpectedConditions.presenceOfElementLocated(By.cssSelector(".el-table__body tbody tr")),
-                    ExpectedConditions.presenceOfElementLocated(By.cssSelector("table tbody tr")),
-                    ExpectedConditions.presenceOfElementLocated(By.cssSelector(".list-item")),
-                    ExpectedConditions.presenceOfElementLocated(By.cssSelector("[class*='list']"))
-            ));
-            randomSleep(1000, 2000);
+            Object count = ((JavascriptExecutor) driver).executeScript(
+                    "var selectors = ['.el-table__body tbody tr', 'table tbody tr', '.list-item'];" +
+                    "for (var i = 0; i < selectors.length; i++) {" +
+                    "  var n = document.querySelectorAll(selectors[i]).length; if (n > 0) return n; }" +
+                    "return 0;");
+            return count instanceof Number n ? n.intValue() : 0;
         } catch (Exception e) {
-            log.warn("等待列表加载超时");
+            return 0;
         }
     }
 
     /**
-     * 获取详情（拟人化点击方式）
+     * 获取详情：按配置选择多标签页并发或逐条串行
      */
-    private List<BiddingAnnouncement> fetchDetails(WebDriver driver, AnnouncementParser parser, 
+    private List<BiddingAnnouncement> fetchDetails(WebDriver driver, AnnouncementParser parser,
                                                     List<BiddingAnnouncement> announcements) {
+        int tabs = crawlerConfig.getDetailConcurrency();
+        if (tabs > 1 && announcements.size() > 1) {
+            return fetchDetailsConcurrently(driver, parser, announcements, tabs);
+        }
+        return fetchDetailsSerially(driver, parser, announcements, 0);
+    }
+
+    /**
+     * 获取详情（拟人化点击方式），从第 fromIndex 条开始逐条处理
+     */
+    private List<BiddingAnnouncement> fetchDetailsSerially(WebDriver driver, AnnouncementParser parser,
+                                                           List<BiddingAnnouncement> announcements, int fromIndex) {
         List<BiddingAnnouncement> detailedAnnouncements = new ArrayList<>();
         String mainWindow = driver.getWindowHandle();
 
-        log.info("开始通过模拟点击获取详情，共 {} 条数据", announcements.size());
+        log.info("开始通过模拟点击获取详情，共 {} 条数据", announcements.size() - fromIndex);
 
-        for (int i = 0; i < announcements.size(); i++) {
+        for (int i = fromIndex; i < announcements.size(); i++) {
             BiddingAnnouncement announcement = announcements.get(i);
             WebElement row = announcement.getWebElement();
+            NetworkCapture detailCapture = null;
+            long detailStart = crawlMetrics.start();
 
             try {
                 if (row == null) {
                     log.warn("第 {} 条数据缺少 WebElement，尝试重新获取", (i + 1));
                     List<WebElement> currentRows = parser.findListRows(driver);
-                    if (i < currentRows.size()) {
-                        row = currentRows.get(i);
+                    int rowIndex = listRowIndex(announcement, i);
+                    if (rowIndex < currentRows.size()) {
+                        row = currentRows.get(rowIndex);
                     } else {
                         log.error("无法找回第 {} 行元素", (i + 1));
                         detailedAnnouncements.add(announcement);
+                        crawlMetrics.record(CrawlMetrics.DETAIL_FETCH, parser.getSupportedType(), false, detailStart);
                         continue;
                     }
                 }
@@ -358,17 +642,21 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
                 // 查找行内可点击的元素
                 WebElement clickable = findClickableElement(row);
                 
-                // 记录当前已打开的窗口句柄
+                // 记录当前已打开的窗口句柄及地址
                 java.util.Set<String> oldHandles = driver.getWindowHandles();
+                String listUrl = driver.getCurrentUrl();
 
                 // 拟人化点击
+                throttle();
+                long clickedAt = System.currentTimeMillis();
                 try {
                     clickElement(driver, clickable);
                 } catch (StaleElementReferenceException e) {
                     log.warn("元素已失效，重新定位列表行并重试");
                     List<WebElement> refreshedRows = parser.findListRows(driver);
-                    if (i < refreshedRows.size()) {
-                        row = refreshedRows.get(i);
+                    int rowIndex = listRowIndex(announcement, i);
+                    if (rowIndex < refreshedRows.size()) {
+                        row = refreshedRows.get(rowIndex);
                         announcement.setWebElement(row);
                         clickable = findClickableElement(row);
                         clickElement(driver, clickable);
@@ -377,20 +665,24 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
                     }
                 }
                 
-                randomSleep(1500, 2500);
-
                 // 检查是否打开了新窗口
-                java.util.Set<String> currentHandles = driver.getWindowHandles();
-                String detailWindow = null;
-                
-                if (currentHandles.size() > oldHandles.size()) {
-                    for (String handle : currentHandles) {
-                        if (!oldHandles.contains(handle)) {
-                            detailWindow = handle;
-                            break;
-                        }
-                    }
+                String detailWindow = waitForNewWindow(driver, oldHandles, 3000);
+                if (detailWindow != null && crawlerConfig.isNetworkCaptureEnabled()) {
+                    // 新窗口一出现立即挂载网络捕获，赶在详情接口请求发出之前
+                    detailCapture = NetworkCapture.attach(driver, detailWindow,
+                            url -> matchesAny(url, crawlerConfig.getCaptureDetailUrlKeywords()));
+                }
+                if (detailWindow != null) {
                     driver.switchTo().window(detailWindow);
+                    // 拦截规则按标签页生效，新标签页需单独设置
+                    resourceBlocker.apply(driver);
+                } else {
+                    // 当前页跳转：等待地址变化后再判断详情是否就绪
+                    pageWaiter.await(driver, d -> !listUrl.equals(d.getCurrentUrl()) ? true : null);
+                }
+                if (detailCapture == null) {
+                    feedback(pageWaiter.await(driver, d -> isDetailReady(d) ? true : null,
+                            Duration.ofSeconds(crawlerConfig.getPageLoadTimeout())) != null, clickedAt);
                 }
 
                 // 1. 实时获取详情页地址
@@ -399,8 +691,9 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
                 log.info("成功获取详情页地址: {}", actualDetailUrl);
 
                 // 2. 解析详情内容
-                BiddingAnnouncement detailed = parser.parseDetail(driver, announcement);
+                BiddingAnnouncement detailed = parseDetail(driver, parser, announcement, detailCapture);
                 detailedAnnouncements.add(detailed);
+                crawlMetrics.record(CrawlMetrics.DETAIL_FETCH, parser.getSupportedType(), true, detailStart);
 
                 // 3. 关闭详情页并切回主窗口
                 if (detailWindow != null) {
@@ -408,17 +701,20 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
                     driver.switchTo().window(mainWindow);
                 } else {
                     // 如果是在当前页跳转的，需要退回列表页
+                    throttle();
                     driver.navigate().back();
-                    randomSleep(2000, 3000);
+                    waitForListLoad(driver);
                     mainWindow = driver.getWindowHandle();
                     // 当前页跳转会导致所有 WebElement 失效，标记为 null 触发下一次迭代重新获取
                     invalidateWebElements(announcements);
                 }
-                
-                randomSleep(800, 1500);
 
             } catch (Exception e) {
                 log.warn("通过点击获取第 {} 行详情失败: {}", (i + 1), e.getMessage());
+                crawlMetrics.record(CrawlMetrics.DETAIL_FETCH, parser.getSupportedType(), false, detailStart);
+                if (detailCapture != null) {
+                    detailCapture.close();
+                }
                 detailedAnnouncements.add(announcement);
                 
                 try {
@@ -434,159 +730,272 @@ public class AnnouncementCrawlerServiceImpl implements AnnouncementCrawlerServic
     }
 
     /**
-     * 在行元素中查找可点击的子元素
+     * 多标签页并发获取详情
+     * 在同一浏览器会话内保持最多 tabs 个详情页同时加载，哪个先加载完成就先解析，
+     * 解析后关闭并继续打开下一条，从而保持同一 Cookie/会话上下文
+     * 若点击后未打开新窗口（当前页跳转），剩余条目回退为串行方式
      */
-    private WebElement findClickableElement(WebElement row) {
-        try {
-            return row.findElement(By.tagName("a"));
-        } catch (Exception e) {
-            try {
-                return row.findElement(By.cssSelector("td:first-child, .cell"));
-            } catch (Exception e2) {
-                return row; // 兜底：点击整行
+    private List<BiddingAnnouncement> fetchDetailsConcurrently(WebDriver driver, AnnouncementParser parser,
+                                                               List<BiddingAnnouncement> announcements, int tabs) {
+        int total = announcements.size();
+        BiddingAnnouncement[] results = new BiddingAnnouncement[total];
+        Map<String, Integer> inFlight = new LinkedHashMap<>();
+        Map<String, Long> openedAt = new LinkedHashMap<>();
+        Map<String, Long> detailStarts = new LinkedHashMap<>();
+        String mainWindow = driver.getWindowHandle();
+        String listUrl = driver.getCurrentUrl();
+        long loadTimeoutMillis = crawlerConfig.getPageLoadTimeout() * 1000L;
+        int next = 0;
+        boolean fallbackToSerial = false;
+
+        log.info("开始通过多标签页并发获取详情，共 {} 条数据，并发标签页 {} 个", total, tabs);
+
+        while ((next < total && !fallbackToSerial) || !inFlight.isEmpty()) {
+            // 1. 补足在途标签页
+            while (!fallbackToSerial && inFlight.size() < tabs && next < total) {
+                int i = next++;
+                BiddingAnnouncement announcement = announcements.get(i);
+                try {
+                    driver.switchTo().window(mainWindow);
+                    throttle();
+                    String handle = openDetailTab(driver, parser, announcements, i);
+                    if (handle == null) {
+                        log.warn("第 {} 行点击后未打开新标签页，剩余条目回退为串行获取", (i + 1));
+                        if (!driver.getCurrentUrl().equals(listUrl)) {
+                            throttle();
+                            driver.navigate().back();
+                            waitForListLoad(driver);
+                            invalidateWebElements(announcements);
+                        }
+                        next = i;
+                        fallbackToSerial = true;
+                        break;
+                    }
+                    // 拦截规则按标签页生效，新标签页需单独设置
+                    driver.switchTo().window(handle);
+                    resourceBlocker.apply(driver);
+                    inFlight.put(handle, i);
+                    openedAt.put(handle, System.currentTimeMillis());
+                    detailStarts.put(handle, crawlMetrics.start());
+                    log.info("已打开第 {} 行详情: {}", (i + 1), announcement.getProjectName());
+                } catch (Exception e) {
+                    log.warn("打开第 {} 行详情失败: {}", (i + 1), e.getMessage());
+                    results[i] = announcement;
+                }
+            }
+
+            // 2. 解析已加载完成的标签页
+            boolean parsedAny = false;
+            for (String handle : new ArrayList<>(inFlight.keySet())) {
+                int i = inFlight.get(handle);
+                BiddingAnnouncement announcement = announcements.get(i);
+                try {
+                    driver.switchTo().window(handle);
+                    boolean timedOut = System.currentTimeMillis() - openedAt.get(handle) > loadTimeoutMillis;
+                    if (!timedOut && !isDetailReady(driver)) {
+                        continue;
+                    }
+                    if (timedOut) {
+                        log.warn("第 {} 行详情加载超时，按当前内容解析", (i + 1));
+                    }
+                    feedback(!timedOut, openedAt.get(handle));
+
+                    announcement.setDetailUrl(driver.getCurrentUrl());
+                    results[i] = parser.parseDetail(driver, announcement);
+                    crawlMetrics.record(CrawlMetrics.DETAIL_FETCH, parser.getSupportedType(), !timedOut, detailStarts.get(handle));
+                } catch (Exception e) {
+                    log.warn("解析第 {} 行详情失败: {}", (i + 1), e.getMessage());
+                    results[i] = announcement;
+                    crawlMetrics.record(CrawlMetrics.DETAIL_FETCH, parser.getSupportedType(), false, detailStarts.get(handle));
+                } finally {
+                    if (results[i] != null) {
+                        closeDetailTab(driver, handle, mainWindow);
+                        inFlight.remove(handle);
+                        openedAt.remove(handle);
+                        detailStarts.remove(handle);
+                        parsedAny = true;
+                    }
+                }
+                break;
+            }
+
+            if (!parsedAny && !inFlight.isEmpty()) {
+                pageWaiter.poll();
             }
         }
+
+        driver.switchTo().window(mainWindow);
+
+        List<BiddingAnnouncement> detailedAnnouncements = new ArrayList<>();
+        for (int i = 0; i < next; i++) {
+            detailedAnnouncements.add(results[i] != null ? results[i] : announcements.get(i));
+        }
+        if (next < total) {
+            detailedAnnouncements.addAll(fetchDetailsSerially(driver, parser, announcements, next));
+        }
+        return detailedAnnouncements;
     }
 
     /**
-     * 失效所有公告中的 WebElement（通常在页面导航后执行）
+     * 在主窗口点击第 index 行，返回新打开的详情标签页句柄；未打开新窗口时返回 null
      */
-    private void invalidateWebElements(List<BiddingAnnouncement> announcements) {
-        for (BiddingAnnouncement a : announcements) {
-            a.setWebElement(null);
+    private String openDetailTab(WebDriver driver, AnnouncementParser parser,
+                                 List<BiddingAnnouncement> announcements, int index) {
+        BiddingAnnouncement announcement = announcements.get(index);
+        int rowIndex = listRowIndex(announcement, index);
+        WebElement row = announcement.getWebElement();
+        if (row == null) {
+            List<WebElement> currentRows = parser.findListRows(driver);
+            if (rowIndex >= currentRows.size()) {
+                throw new IllegalStateException("无法找回第 " + (index + 1) + " 行元素");
+            }
+            row = currentRows.get(rowIndex);
+            announcement.setWebElement(row);
+        }
+
+        java.util.Set<String> oldHandles = driver.getWindowHandles();
+        try {
+            clickElement(driver, findClickableElement(row));
+        } catch (StaleElementReferenceException e) {
+            List<WebElement> refreshedRows = parser.findListRows(driver);
+            if (rowIndex >= refreshedRows.size()) {
+                throw e;
+            }
+            row = refreshedRows.get(rowIndex);
+            announcement.setWebElement(row);
+            clickElement(driver, findClickableElement(row));
         }
+
+        return waitForNewWindow(driver, oldHandles, 3000);
     }
 
-    // ==================== 去重与变更检测 ====================
+    /**
+     * 等待点击后新打开的窗口，返回其句柄；超时未出现返回 null
+     */
+    private String waitForNewWindow(WebDriver driver, java.util.Set<String> oldHandles, long timeoutMillis) {
+        return pageWaiter.await(driver, d -> {
+            for (String handle : d.getWindowHandles()) {
+                if (!oldHandles.contains(handle)) {
+                    return handle;
+                }
+            }
+            return null;
+        }, Duration.ofMillis(timeoutMillis));
+    }
 
     /**
-     * 计算身份指纹：MD5(projectCode | announcementType | projectName)
-     * 同一项目的不同分包公告（如“公告一”、“公告二”）会因 projectName 不同而产生不同 hash
+     * 解析详情：网络捕获到详情接口响应时直接解析JSON，否则解析DOM
      */
-    private String computeContentHash(BiddingAnnouncement a) {
-        String raw = nullSafe(a.getProjectCode()) + "|" +
-                     nullSafe(a.getAnnouncementType()) + "|" +
-                     nullSafe(a.getProjectName());
-        return md5(raw);
+    private BiddingAnnouncement parseDetail(WebDriver driver, AnnouncementParser parser,
+                                            BiddingAnnouncement announcement, NetworkCapture capture) {
+        if (capture != null) {
+            try (capture) {
+                NetworkCapture.CapturedResponse payload = capture.await(
+                        r -> r.getBody() != null, crawlerConfig.getCaptureWaitTimeout() * 1000L);
+                if (payload != null) {
+                    BiddingAnnouncement detailed = parser.parseDetailPayload(payload.getBody(), announcement);
+                    if (detailed != null) {
+                        return detailed;
+                    }
+                }
+                log.debug("未捕获到可识别的详情接口响应，回退为DOM解析");
+                pageWaiter.networkIdle(driver, capture);
+            }
+        }
+        return parser.parseDetail(driver, announcement);
     }
 
     /**
-     * MD5 哈希
+     * 判断详情页是否加载完成：文档就绪、无加载遮罩且已渲染出正文
      */
-    private String md5(String input) {
+    private boolean isDetailReady(WebDriver driver) {
         try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hex = new StringBuilder();
-            for (byte b : digest) {
-                hex.append(String.format("%02x", b));
-            }
-            return hex.toString();
+            Object ready = ((JavascriptExecutor) driver).executeScript(
+                    "if (document.readyState !== 'complete' || !document.body) return false;" +
+                    "var masks = document.querySelectorAll('.el-loading-mask');" +
+                    "for (var i = 0; i < masks.length; i++) { if (masks[i].offsetParent !== null) return false; }" +
+                    "return document.body.innerText.trim().length > 50;");
+            return Boolean.TRUE.equals(ready);
         } catch (Exception e) {
-            log.error("MD5计算失败", e);
-            return String.valueOf(input.hashCode());
+            return false;
         }
     }
 
     /**
-     * 精确检测变更字段，返回变更描述列表
+     * 关闭详情标签页并切回主窗口
      */
-    private List<String> detectChangedFields(BiddingAnnouncement existing, BiddingAnnouncement newData) {
-        List<String> changes = new ArrayList<>();
-        if (!safeEquals(existing.getProjectStatus(), newData.getProjectStatus())) changes.add("项目状态");
-        if (!safeEquals(existing.getBidOpenTime(), newData.getBidOpenTime())) changes.add("开标时间");
-        if (!safeEquals(existing.getFileDeadline(), newData.getFileDeadline())) changes.add("文件截止时间");
-        if (!safeEquals(existing.getDetailUrl(), newData.getDetailUrl())) changes.add("详情链接");
-        if (!safeEquals(existing.getTenderer(), newData.getTenderer())) changes.add("招标人");
-        if (!safeEquals(existing.getContactPerson(), newData.getContactPerson())) changes.add("联系人");
-        if (!safeEquals(existing.getProcurementType(), newData.getProcurementType())) changes.add("采购类型");
-        if (!safeEquals(existing.getBidOpenLocation(), newData.getBidOpenLocation())) changes.add("开标地点");
-        return changes;
+    private void closeDetailTab(WebDriver driver, String handle, String mainWindow) {
+        try {
+            driver.switchTo().window(handle);
+            driver.close();
+        } catch (Exception e) {
+            log.debug("关闭详情标签页失败: {}", e.getMessage());
+        }
+        try {
+            driver.switchTo().window(mainWindow);
+        } catch (Exception ignored) {}
     }
 
     /**
-     * 合并更新字段（新值非空时覆盖旧值）
+     * 访问门户前获取限速令牌，并附加礼貌性随机抖动
      */
-    private void mergeUpdatedFields(BiddingAnnouncement existing, BiddingAnnouncement newData) {
-        if (newData.getProjectName() != null) existing.setProjectName(newData.getProjectName());
-        if (newData.getProjectStatus() != null) existing.setProjectStatus(newData.getProjectStatus());
-        if (newData.getFileDeadline() != null) existing.setFileDeadline(newData.getFileDeadline());
-        if (newData.getBidOpenTime() != null) existing.setBidOpenTime(newData.getBidOpenTime());
-        if (newData.getDetailUrl() != null) existing.setDetailUrl(newData.getDetailUrl());
-        if (newData.getTenderer() != null) existing.setTenderer(newData.getTenderer());
-        if (newData.getContactPerson() != null) existing.setContactPerson(newData.getContactPerson());
-        if (newData.getBackupContactPerson() != null) existing.setBackupContactPerson(newData.getBackupContactPerson());
-        if (newData.getContactPhone() != null) existing.setContactPhone(newData.getContactPhone());
-        if (newData.getBackupContactPhone() != null) existing.setBackupContactPhone(newData.getBackupContactPhone());
-        if (newData.getProcurementType() != null) existing.setProcurementType(newData.getProcurementType());
-        if (newData.getProcurementName() != null) existing.setProcurementName(newData.getProcurementName());
-        if (newData.getBidOpenLocation() != null) existing.setBidOpenLocation(newData.getBidOpenLocation());
-        if (newData.getFax() != null) existing.setFax(newData.getFax());
-        if (newData.getEmail() != null) existing.setEmail(newData.getEmail());
-        if (newData.getProjectIntro() != null) existing.setProjectIntro(newData.getProjectIntro());
-        if (newData.getFileDownloadUrl() != null) existing.setFileDownloadUrl(newData.getFileDownloadUrl());
-        if (newData.getBiddingFileUrl() != null) existing.setBiddingFileUrl(newData.getBiddingFileUrl());
-        if (newData.getChangeContent() != null) existing.setChangeContent(newData.getChangeContent());
-        if (newData.getChangeFileUrl() != null) existing.setChangeFileUrl(newData.getChangeFileUrl());
-        if (newData.getPublishTime() != null) existing.setPublishTime(newData.getPublishTime());
-    }
-
-    private String nullSafe(String value) {
-        return value != null ? value : "";
+    private void throttle() {
+        rateLimiter.acquire(crawlerConfig.getTargetUrl());
+        pageWaiter.jitter();
     }
 
     /**
-     * 安全比较
+     * 向限速器反馈本次访问结果
      */
-    private boolean safeEquals(Object a, Object b) {
-        if (a == null && b == null) return true;
-        if (a == null || b == null) return false;
-        return a.equals(b);
+    private void feedback(boolean success, long startMillis) {
+        if (success) {
+            rateLimiter.onSuccess(crawlerConfig.getTargetUrl(), System.currentTimeMillis() - startMillis);
+        } else {
+            rateLimiter.onFailure(crawlerConfig.getTargetUrl());
+        }
     }
 
     /**
-     * 点击元素
+     * 在行元素中查找可点击的子元素
      */
-    private void clickElement(WebDriver driver, WebElement element) {
-        try {
-            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
-            randomSleep(300, 500);
-            try {
-                element.click();
-            } catch (Exception e) {
-                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
-            }
-        } catch (Exception e) {
-            log.warn("点击元素失败: {}", e.getMessage());
+    private WebElement findClickableElement(WebElement row) {
+        WebElement link = ElementLookup.probe(row, By.tagName("a"));
+        if (link != null) {
+            return link;
         }
+        WebElement cell = ElementLookup.probe(row, By.cssSelector("td:first-child, .cell"));
+        return cell != null ? cell : row; // 兜底：点击整行
     }
 
     /**
-     * 随机延迟
+     * 公告在当前列表页中的行号（增量过滤后与待处理列表的下标不再一致）
      */
-    private void randomSleep() {
-        randomSleep(crawlerConfig.getIntervalMin(), crawlerConfig.getIntervalMax());
+    private int listRowIndex(BiddingAnnouncement announcement, int fallback) {
+        return announcement.getListIndex() != null ? announcement.getListIndex() : fallback;
     }
 
-    private void randomSleep(int min, int max) {
-        try {
-            int delay = min + random.nextInt(max - min);
-            Thread.sleep(delay);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * 失效所有公告中的 WebElement（通常在页面导航后执行）
+     */
+    private void invalidateWebElements(List<BiddingAnnouncement> announcements) {
+        for (BiddingAnnouncement a : announcements) {
+            a.setWebElement(null);
         }
     }
 
     /**
-     * 安全关闭WebDriver
+     * 点击元素
      */
-    private void quitDriver(WebDriver driver) {
-        if (driver != null) {
+    private void clickElement(WebDriver driver, WebElement element) {
+        try {
+            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
             try {
-                driver.quit();
+                element.click();
             } catch (Exception e) {
-                log.warn("关闭WebDriver失败", e);
+                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
             }
+        } catch (Exception e) {
+            log.warn("点击元素失败: {}", e.getMessage());
         }
     }
 }
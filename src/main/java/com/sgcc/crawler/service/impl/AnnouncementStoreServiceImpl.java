@@ -0,0 +1,470 @@
+package com.sgcc.crawler.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.MybatisBatchUtils;
+import com.sgcc.crawler.config.CrawlerConfig;
+import com.sgcc.crawler.dedup.KnownHashIndex;
+import com.sgcc.crawler.entity.AnnouncementType;
+import com.sgcc.crawler.entity.BiddingAnnouncement;
+import com.sgcc.crawler.mapper.BiddingAnnouncementMapper;
+import com.sgcc.crawler.metrics.CrawlMetrics;
+import com.sgcc.crawler.service.AnnouncementStoreService;
+import com.sgcc.crawler.service.NotifyService;
+import com.sgcc.crawler.service.UpsertResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 公告入库服务实现类
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnnouncementStoreServiceImpl implements AnnouncementStoreService {
+
+    private static final String UPSERT_STATEMENT = BiddingAnnouncementMapper.class.getName() + ".upsert";
+    private static final String UPDATE_FIELD_HASH_STATEMENT = BiddingAnnouncementMapper.class.getName() + ".updateFieldHash";
+
+    private final BiddingAnnouncementMapper announcementMapper;
+    private final NotifyService notifyService;
+    private final CrawlerConfig crawlerConfig;
+    private final KnownHashIndex knownHashIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final CrawlMetrics crawlMetrics;
+
+    /**
+     * 统一入库方法：内容指纹去重 + 变更检测 + 分类推送
+     */
+    @Override
+    public int saveWithDedup(List<BiddingAnnouncement> announcements, AnnouncementType type) {
+        return saveWithDedup(announcements, type, false);
+    }
+
+    @Override
+    public int saveWithDedup(List<BiddingAnnouncement> announcements, AnnouncementType type, boolean ignoreMissingFields) {
+        int skipCount = 0;
+
+        // 校验唯一键字段并计算身份指纹、变更指纹
+        List<BiddingAnnouncement> valid = new ArrayList<>();
+        for (BiddingAnnouncement announcement : announcements) {
+            if (announcement.getProjectCode() == null || announcement.getProjectCode().isBlank()) {
+                log.warn("跳过无项目编号的公告: {}", announcement.getProjectName());
+                continue;
+            }
+            announcement.setContentHash(computeContentHash(announcement));
+            announcement.setFieldHash(computeFieldHash(announcement));
+            valid.add(announcement);
+        }
+
+        // 先用窄投影查询已有记录的变更指纹（指纹索引可用时只查询索引中已存在的指纹，其余直接按新公告写入）
+        // 变更指纹一致即判定未变更，只有不一致的记录才加载整行做字段级比较
+        List<String> lookup = valid.stream()
+                .map(BiddingAnnouncement::getContentHash)
+                .filter(hash -> !knownHashIndex.isLoaded() || knownHashIndex.contains(hash))
+                .toList();
+        Map<String, BiddingAnnouncement> fingerprints;
+        Map<String, BiddingAnnouncement> existingByHash;
+        long dedupStart = crawlMetrics.start();
+        try {
+            fingerprints = findFingerprints(lookup);
+            Set<String> candidates = new HashSet<>();
+            for (BiddingAnnouncement announcement : valid) {
+                BiddingAnnouncement fingerprint = fingerprints.get(announcement.getContentHash());
+                if (fingerprint != null && !safeEquals(fingerprint.getFieldHash(), announcement.getFieldHash())) {
+                    candidates.add(announcement.getContentHash());
+                }
+            }
+            existingByHash = findExisting(candidates);
+            crawlMetrics.record(CrawlMetrics.DEDUP_QUERY, type, true, dedupStart);
+        } catch (Exception e) {
+            crawlMetrics.record(CrawlMetrics.DEDUP_QUERY, type, false, dedupStart);
+            log.error("批量查询已有公告失败[{}]", type.getDisplayName(), e);
+            return 0;
+        }
+
+        // 内存中分类：新公告 / 有变更 / 未变更
+        List<BiddingAnnouncement> toWrite = new ArrayList<>();
+        List<BiddingAnnouncement> staleFingerprints = new ArrayList<>();
+        Map<BiddingAnnouncement, List<String>> changes = new IdentityHashMap<>();
+        for (BiddingAnnouncement announcement : valid) {
+            String hash = announcement.getContentHash();
+            BiddingAnnouncement existing = existingByHash.get(hash);
+
+            if (existing == null && fingerprints.containsKey(hash)) {
+                // === 变更指纹一致：未变更 ===
+                skipCount++;
+                log.debug("公告未变更，跳过: {} - {}", announcement.getProjectCode(), announcement.getProjectName());
+            } else if (existing == null) {
+                // === 新公告 ===
+                announcement.setNotified(0);
+                // created_at 为秒级精度，去掉纳秒以便写入后按创建时间确认是否由本次插入
+                announcement.setCreatedAt(LocalDateTime.now().withNano(0));
+                announcement.setUpdatedAt(LocalDateTime.now());
+                toWrite.add(announcement);
+                // 同一批次中重复出现的公告按已有记录处理
+                existingByHash.put(hash, announcement);
+            } else {
+                // === 变更指纹不一致：逐字段检测变更 ===
+                List<String> changedFields = detectChangedFields(existing, announcement, ignoreMissingFields);
+                if (!changedFields.isEmpty()) {
+                    mergeUpdatedFields(existing, announcement);
+                    existing.setFieldHash(computeFieldHash(existing));
+                    existing.setUpdatedAt(LocalDateTime.now());
+                    if (existing.getId() != null && !changes.containsKey(existing)) {
+                        toWrite.add(existing);
+                    }
+                    changes.computeIfAbsent(existing, k -> new ArrayList<>()).addAll(changedFields);
+                } else {
+                    skipCount++;
+                    // 新数据缺少部分字段，或历史记录尚无变更指纹
+                    String fieldHash = computeFieldHash(existing);
+                    if (existing.getId() != null && !fieldHash.equals(existing.getFieldHash())) {
+                        existing.setFieldHash(fieldHash);
+                        staleFingerprints.add(existing);
+                    }
+                    log.debug("公告未变更，跳过: {} - {}", existing.getProjectCode(), existing.getProjectName());
+                }
+            }
+        }
+        refreshFieldHashes(staleFingerprints);
+
+        // 公告写入与通知写入发件箱在同一事务中提交，写入失败时不会留下孤立通知，通知也不会因推送失败而丢失
+        UpsertResult result;
+        long writeStart = crawlMetrics.start();
+        try {
+            result = transactionTemplate.execute(status -> {
+                UpsertResult written = upsert(toWrite);
+                enqueueNotifications(written, changes, type);
+                return written;
+            });
+            crawlMetrics.record(CrawlMetrics.STORE_WRITE, type, true, writeStart);
+        } catch (Exception e) {
+            crawlMetrics.record(CrawlMetrics.STORE_WRITE, type, false, writeStart);
+            log.error("批量写入公告失败[{}]: {} 条", type.getDisplayName(), toWrite.size(), e);
+            return 0;
+        }
+        repairMergedFieldHashes(result, changes);
+        result.getInserted().forEach(a -> knownHashIndex.add(a.getContentHash()));
+        result.getUpdated().forEach(a -> knownHashIndex.add(a.getContentHash()));
+        int newCount = result.getInserted().size();
+        int updateCount = (int) result.getUpdated().stream().filter(changes::containsKey).count();
+        crawlMetrics.count(CrawlMetrics.STORE_WRITE, type, "inserted", newCount);
+        crawlMetrics.count(CrawlMetrics.STORE_WRITE, type, "updated", updateCount);
+        crawlMetrics.count(CrawlMetrics.STORE_WRITE, type, "unchanged", skipCount);
+
+        log.info("爬取入库完成[{}]: 新增 {} 条, 更新 {} 条, 跳过 {} 条",
+                type.getDisplayName(), newCount, updateCount, skipCount);
+        return newCount;
+    }
+
+    /**
+     * 未经变更检测就被合并写入的记录（查询后被并发写入，或指纹索引未命中的已有公告）：
+     * upsert 只覆盖非空字段，写入的变更指纹可能与合并后的整行不一致，按整行重新计算
+     */
+    private void repairMergedFieldHashes(UpsertResult result, Map<BiddingAnnouncement, List<String>> changes) {
+        List<String> merged = result.getUpdated().stream()
+                .filter(a -> !changes.containsKey(a))
+                .map(BiddingAnnouncement::getContentHash)
+                .toList();
+        if (merged.isEmpty()) {
+            return;
+        }
+        try {
+            List<BiddingAnnouncement> stale = new ArrayList<>();
+            for (BiddingAnnouncement row : findExisting(merged).values()) {
+                String fieldHash = computeFieldHash(row);
+                if (!fieldHash.equals(row.getFieldHash())) {
+                    row.setFieldHash(fieldHash);
+                    stale.add(row);
+                }
+            }
+            refreshFieldHashes(stale);
+        } catch (Exception e) {
+            log.warn("修正合并写入记录的变更指纹失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 为新增和有变更的公告写入通知发件箱（在写入事务内调用）
+     */
+    private void enqueueNotifications(UpsertResult result, Map<BiddingAnnouncement, List<String>> changes,
+                                      AnnouncementType type) {
+        for (BiddingAnnouncement announcement : result.getInserted()) {
+            log.info("新增公告[{}]: {} - {}", type.getDisplayName(),
+                    announcement.getProjectCode(), announcement.getProjectName());
+            notifyService.notifyNewAnnouncement(announcement);
+        }
+
+        for (BiddingAnnouncement existing : result.getUpdated()) {
+            List<String> changedFields = changes.get(existing);
+            if (changedFields == null) {
+                // 查询后被并发写入或指纹索引未命中的已有记录，无法确定变更字段，不推送
+                log.info("公告已存在（并发写入或指纹索引未命中），按更新处理: {} - {}", existing.getProjectCode(), existing.getProjectName());
+                continue;
+            }
+            log.info("更新公告[{}]: {} - {}, 变更: {}",
+                    type.getDisplayName(), existing.getProjectCode(),
+                    existing.getProjectName(), changedFields);
+            notifyService.notifyAnnouncementUpdate(existing, changedFields);
+        }
+    }
+
+    /**
+     * 按 uk_content_hash 批量插入或更新，按 upsert-batch-size 分批交给批量执行器
+     * 批量会话经 Spring 管理的连接执行，随外层写入事务一起提交或回滚
+     * 优先依据驱动返回的受影响行数区分插入/更新（1 插入，2 更新）；
+     * 开启 rewriteBatchedStatements 后驱动可能不返回逐行结果：查询时已有主键的按更新处理，
+     * 其余记录（可能只是指纹索引未命中，库中其实已有）写入后回查创建时间，与本次写入的一致才算插入
+     * 新插入记录的主键通过窄投影批量查询回填
+     */
+    private UpsertResult upsert(List<BiddingAnnouncement> rows) {
+        UpsertResult result = new UpsertResult();
+        if (rows.isEmpty()) {
+            return result;
+        }
+
+        List<Integer> counts = new ArrayList<>(rows.size());
+        int batchSize = Math.max(1, crawlerConfig.getUpsertBatchSize());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<BiddingAnnouncement> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            for (BatchResult batch : MybatisBatchUtils.execute(sqlSessionFactory, chunk, UPSERT_STATEMENT)) {
+                for (int count : batch.getUpdateCounts()) {
+                    counts.add(count);
+                }
+            }
+        }
+
+        List<BiddingAnnouncement> inserted = new ArrayList<>();
+        List<BiddingAnnouncement> unconfirmed = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            BiddingAnnouncement row = rows.get(i);
+            Integer count = i < counts.size() ? counts.get(i) : null;
+            if (count != null && count >= 0) {
+                if (count == 1) {
+                    inserted.add(row);
+                } else if (count != 0) {
+                    result.getUpdated().add(row);
+                }
+            } else if (row.getId() != null) {
+                result.getUpdated().add(row);
+            } else {
+                unconfirmed.add(row);
+            }
+        }
+
+        List<String> lookup = new ArrayList<>();
+        inserted.forEach(row -> lookup.add(row.getContentHash()));
+        unconfirmed.forEach(row -> lookup.add(row.getContentHash()));
+        Map<String, BiddingAnnouncement> persisted = findFingerprints(lookup);
+        for (BiddingAnnouncement row : unconfirmed) {
+            BiddingAnnouncement saved = persisted.get(row.getContentHash());
+            if (saved != null && safeEquals(saved.getCreatedAt(), row.getCreatedAt())) {
+                inserted.add(row);
+            } else {
+                log.debug("公告已存在，按更新处理: {} - {}", row.getProjectCode(), row.getProjectName());
+                if (saved != null) {
+                    row.setId(saved.getId());
+                }
+                result.getUpdated().add(row);
+            }
+        }
+        for (BiddingAnnouncement row : inserted) {
+            BiddingAnnouncement saved = persisted.get(row.getContentHash());
+            if (saved != null) {
+                row.setId(saved.getId());
+            }
+            result.getInserted().add(row);
+        }
+        return result;
+    }
+
+    /**
+     * 计算身份指纹：MD5(projectCode | announcementType | projectName)
+     * 同一项目的不同分包公告（如“公告一”、“公告二”）会因 projectName 不同而产生不同 hash
+     */
+    @Override
+    public String computeContentHash(BiddingAnnouncement a) {
+        String raw = nullSafe(a.getProjectCode()) + "|" +
+                     nullSafe(a.getAnnouncementType()) + "|" +
+                     nullSafe(a.getProjectName());
+        return md5(raw);
+    }
+
+    @Override
+    public Map<String, BiddingAnnouncement> findExisting(Collection<String> contentHashes) {
+        Map<String, BiddingAnnouncement> existing = new HashMap<>();
+        List<String> hashes = contentHashes.stream().distinct().toList();
+        int chunkSize = Math.max(1, crawlerConfig.getDedupLookupChunkSize());
+        for (int from = 0; from < hashes.size(); from += chunkSize) {
+            List<String> chunk = hashes.subList(from, Math.min(from + chunkSize, hashes.size()));
+            for (BiddingAnnouncement announcement : announcementMapper.selectByContentHashes(chunk)) {
+                existing.put(announcement.getContentHash(), announcement);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * 批量查询已有记录的主键与变更指纹（按 dedup-lookup-chunk-size 分批）
+     */
+    private Map<String, BiddingAnnouncement> findFingerprints(Collection<String> contentHashes) {
+        Map<String, BiddingAnnouncement> fingerprints = new HashMap<>();
+        List<String> hashes = contentHashes.stream().distinct().toList();
+        int chunkSize = Math.max(1, crawlerConfig.getDedupLookupChunkSize());
+        for (int from = 0; from < hashes.size(); from += chunkSize) {
+            List<String> chunk = hashes.subList(from, Math.min(from + chunkSize, hashes.size()));
+            for (BiddingAnnouncement fingerprint : announcementMapper.selectFingerprintsByContentHashes(chunk)) {
+                fingerprints.put(fingerprint.getContentHash(), fingerprint);
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * 批量补齐/修正变更指纹，失败只影响下次比较的效率
+     */
+    private void refreshFieldHashes(List<BiddingAnnouncement> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int batchSize = Math.max(1, crawlerConfig.getUpsertBatchSize());
+        try {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                MybatisBatchUtils.execute(sqlSessionFactory, rows.subList(from, Math.min(from + batchSize, rows.size())),
+                        UPDATE_FIELD_HASH_STATEMENT);
+            }
+        } catch (Exception e) {
+            log.warn("更新变更指纹失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Set<String> findKnownHashes(Collection<String> contentHashes) {
+        if (knownHashIndex.isLoaded()) {
+            Set<String> known = new HashSet<>();
+            for (String hash : contentHashes) {
+                if (knownHashIndex.contains(hash)) {
+                    known.add(hash);
+                }
+            }
+            return known;
+        }
+        return new HashSet<>(findExisting(contentHashes).keySet());
+    }
+
+    /**
+     * 计算变更指纹：MD5(参与变更检测的字段)，字段范围与 detectChangedFields 保持一致
+     */
+    private String computeFieldHash(BiddingAnnouncement a) {
+        String raw = nullSafe(a.getProjectStatus()) + "|" +
+                     nullSafe(a.getBidOpenTime()) + "|" +
+                     nullSafe(a.getFileDeadline()) + "|" +
+                     nullSafe(a.getDetailUrl()) + "|" +
+                     nullSafe(a.getTenderer()) + "|" +
+                     nullSafe(a.getContactPerson()) + "|" +
+                     nullSafe(a.getProcurementType()) + "|" +
+                     nullSafe(a.getBidOpenLocation());
+        return md5(raw);
+    }
+
+    /**
+     * MD5 哈希
+     */
+    private String md5(String input) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (Exception e) {
+            log.error("MD5计算失败", e);
+            return String.valueOf(input.hashCode());
+        }
+    }
+
+    /**
+     * 精确检测变更字段，返回变更描述列表
+     * @param ignoreMissing 为 true 时新值为空视为未采集到该字段（如接口通道未取到详情），不计为变更，与合并规则保持一致
+     */
+    private List<String> detectChangedFields(BiddingAnnouncement existing, BiddingAnnouncement newData, boolean ignoreMissing) {
+        List<String> changes = new ArrayList<>();
+        if (isChanged(existing.getProjectStatus(), newData.getProjectStatus(), ignoreMissing)) changes.add("项目状态");
+        if (isChanged(existing.getBidOpenTime(), newData.getBidOpenTime(), ignoreMissing)) changes.add("开标时间");
+        if (isChanged(existing.getFileDeadline(), newData.getFileDeadline(), ignoreMissing)) changes.add("文件截止时间");
+        if (isChanged(existing.getDetailUrl(), newData.getDetailUrl(), ignoreMissing)) changes.add("详情链接");
+        if (isChanged(existing.getTenderer(), newData.getTenderer(), ignoreMissing)) changes.add("招标人");
+        if (isChanged(existing.getContactPerson(), newData.getContactPerson(), ignoreMissing)) changes.add("联系人");
+        if (isChanged(existing.getProcurementType(), newData.getProcurementType(), ignoreMissing)) changes.add("采购类型");
+        if (isChanged(existing.getBidOpenLocation(), newData.getBidOpenLocation(), ignoreMissing)) changes.add("开标地点");
+        return changes;
+    }
+
+    /**
+     * 合并更新字段（新值非空时覆盖旧值）
+     */
+    private void mergeUpdatedFields(BiddingAnnouncement existing, BiddingAnnouncement newData) {
+        if (newData.getProjectName() != null) existing.setProjectName(newData.getProjectName());
+        if (newData.getProjectStatus() != null) existing.setProjectStatus(newData.getProjectStatus());
+        if (newData.getFileDeadline() != null) existing.setFileDeadline(newData.getFileDeadline());
+        if (newData.getBidOpenTime() != null) existing.setBidOpenTime(newData.getBidOpenTime());
+        if (newData.getDetailUrl() != null) existing.setDetailUrl(newData.getDetailUrl());
+        if (newData.getTenderer() != null) existing.setTenderer(newData.getTenderer());
+        if (newData.getContactPerson() != null) existing.setContactPerson(newData.getContactPerson());
+        if (newData.getBackupContactPerson() != null) existing.setBackupContactPerson(newData.getBackupContactPerson());
+        if (newData.getContactPhone() != null) existing.setContactPhone(newData.getContactPhone());
+        if (newData.getBackupContactPhone() != null) existing.setBackupContactPhone(newData.getBackupContactPhone());
+        if (newData.getProcurementType() != null) existing.setProcurementType(newData.getProcurementType());
+        if (newData.getProcurementName() != null) existing.setProcurementName(newData.getProcurementName());
+        if (newData.getBidOpenLocation() != null) existing.setBidOpenLocation(newData.getBidOpenLocation());
+        if (newData.getFax() != null) existing.setFax(newData.getFax());
+        if (newData.getEmail() != null) existing.setEmail(newData.getEmail());
+        if (newData.getProjectIntro() != null) existing.setProjectIntro(newData.getProjectIntro());
+        if (newData.getFileDownloadUrl() != null) existing.setFileDownloadUrl(newData.getFileDownloadUrl());
+        if (newData.getBiddingFileUrl() != null) existing.setBiddingFileUrl(newData.getBiddingFileUrl());
+        if (newData.getChangeContent() != null) existing.setChangeContent(newData.getChangeContent());
+        if (newData.getChangeFileUrl() != null) existing.setChangeFileUrl(newData.getChangeFileUrl());
+        if (newData.getPublishTime() != null) existing.setPublishTime(newData.getPublishTime());
+    }
+
+    private String nullSafe(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * 新旧值不同；ignoreMissing 时新值为空不计为变更
+     */
+    private boolean isChanged(Object oldValue, Object newValue, boolean ignoreMissing) {
+        if (ignoreMissing && newValue == null) {
+            return false;
+        }
+        return !safeEquals(oldValue, newValue);
+    }
+
+    /**
+     * 安全比较
+     */
+    private boolean safeEquals(Object a, Object b) {
+        if (a == null && b == null) return true;
+        if (a == null || b == null) return false;
+        return a.equals(b);
+    }
+}
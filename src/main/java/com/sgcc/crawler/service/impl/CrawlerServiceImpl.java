@@ -1,22 +1,27 @@
 package com.sgcc.crawler.service.impl;
 
+import com.sgcc.crawler.browser.ElementLookup;
+import com.sgcc.crawler.browser.PageWaiter;
+import com.sgcc.crawler.browser.WebDriverPool;
 import com.sgcc.crawler.config.CrawlerConfig;
-import com.sgcc.crawler.config.SeleniumConfig;
 import com.sgcc.crawler.entity.BiddingProject;
 import com.sgcc.crawler.mapper.BiddingProjectMapper;
 import com.sgcc.crawler.service.CrawlerService;
 import com.sgcc.crawler.service.NotifyService;
+import com.sgcc.crawler.throttle.AdaptiveRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -27,10 +32,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CrawlerServiceImpl implements CrawlerService {
 
-    private final SeleniumConfig seleniumConfig;
+    private final WebDriverPool webDriverPool;
+    private final AdaptiveRateLimiter rateLimiter;
     private final CrawlerConfig crawlerConfig;
     private final BiddingProjectMapper biddingProjectMapper;
     private final NotifyService notifyService;
+    private final TransactionTemplate transactionTemplate;
+    private final PageWaiter pageWaiter;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final DateTimeFormatter DATE_FORMATTER_SHORT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -41,18 +49,16 @@ public class CrawlerServiceImpl implements CrawlerService {
         WebDriver driver = null;
 
         try {
-            driver = seleniumConfig.createWebDriver();
+            driver = webDriverPool.borrow();
             projects = doCrawl(driver);
+        } catch (WebDriverException e) {
+            log.error("爬取失败，浏览器异常，实例作废", e);
+            webDriverPool.invalidate(driver);
+            driver = null;
         } catch (Exception e) {
             log.error("爬取失败", e);
         } finally {
-            if (driver != null) {
-                try {
-                    driver.quit();
-                } catch (Exception e) {
-                    log.warn("关闭WebDriver失败", e);
-                }
-            }
+            webDriverPool.release(driver);
         }
 
         return projects;
@@ -69,22 +75,24 @@ public class CrawlerServiceImpl implements CrawlerService {
                 project.setNotified(0);
                 project.setCreatedAt(LocalDateTime.now());
                 project.setUpdatedAt(LocalDateTime.now());
-                biddingProjectMapper.insert(project);
+                // 项目与通知在同一事务中写入
+                transactionTemplate.executeWithoutResult(status -> {
+                    biddingProjectMapper.insert(project);
+                    notifyService.notifyNewProject(project);
+                });
                 newCount++;
                 log.info("新增项目: {}", project.getProjectName());
-
-                // 推送通知
-                notifyService.notifyNewProject(project);
             } else {
                 // 检查状态是否变更
                 if (!existing.getProjectStatus().equals(project.getProjectStatus())) {
                     existing.setProjectStatus(project.getProjectStatus());
                     existing.setUpdatedAt(LocalDateTime.now());
-                    biddingProjectMapper.updateById(existing);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        biddingProjectMapper.updateById(existing);
+                        // 推送状态变更通知
+                        notifyService.notifyStatusChange(existing, project.getProjectStatus());
+                    });
                     log.info("项目状态更新: {} -> {}", existing.getProjectName(), project.getProjectStatus());
-
-                    // 推送状态变更通知
-                    notifyService.notifyStatusChange(existing, project.getProjectStatus());
                 }
             }
         }
@@ -102,7 +110,7 @@ public class CrawlerServiceImpl implements CrawlerService {
             // 第一步：先访问首页
             log.info("正在访问首页...");
             driver.get(crawlerConfig.getTargetUrl());
-            randomSleep();
+            throttle();
 
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(crawlerConfig.getElementWaitTimeout()));
 
@@ -112,7 +120,7 @@ public class CrawlerServiceImpl implements CrawlerService {
 
             // 第二步：模拟点击"招标采购"导航菜单
             log.info("正在点击招标采购导航...");
-            WebElement biddingNav = findAndClickBiddingNav(driver, wait);
+            WebElement biddingNav = findAndClickBiddingNav(driver);
             
             if (biddingNav == null) {
                 log.error("未找到招标采购导航链接");
@@ -120,7 +128,7 @@ public class CrawlerServiceImpl implements CrawlerService {
             }
 
             // 等待招标采购页面加载
-            randomSleep();
+            throttle();
             log.info("等待招标采购页面加载...");
 
             // 等待列表加载完成
@@ -134,7 +142,7 @@ public class CrawlerServiceImpl implements CrawlerService {
                     ExpectedConditions.presenceOfElementLocated(By.cssSelector(".notice-list"))
             ));
 
-            randomSleep();
+            throttle();
 
             // 解析项目列表
             projects = parseProjectList(driver);
@@ -148,6 +156,9 @@ public class CrawlerServiceImpl implements CrawlerService {
         } catch (TimeoutException e) {
             log.error("页面加载超时", e);
             retryWithDifferentStrategy(driver, projects);
+        } catch (WebDriverException e) {
+            // 浏览器或会话异常交给借用方作废实例，不归还池中复用
+            throw e;
         } catch (Exception e) {
             log.error("爬取过程中发生错误", e);
         }
@@ -158,7 +169,7 @@ public class CrawlerServiceImpl implements CrawlerService {
     /**
      * 查找并点击招标采购导航
      */
-    private WebElement findAndClickBiddingNav(WebDriver driver, WebDriverWait wait) {
+    private WebElement findAndClickBiddingNav(WebDriver driver) {
         // 尝试多种选择器找到"招标采购"导航
         String[] navSelectors = {
                 "//a[contains(text(),'招标采购')]",
@@ -167,14 +178,20 @@ public class CrawlerServiceImpl implements CrawlerService {
                 "//li[contains(text(),'招标采购')]"
         };
 
+        // 等待任一候选出现后逐个零等待探测，避免每个未命中的候选都等满超时
+        pageWaiter.anyPresent(driver, Arrays.stream(navSelectors).map(By::xpath).toArray(By[]::new));
         for (String xpath : navSelectors) {
             try {
-                WebElement navElement = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(xpath)));
+                WebElement navElement = ElementLookup.probe(driver, By.xpath(xpath));
+                if (navElement == null) {
+                    log.debug("选择器 {} 未找到元素", xpath);
+                    continue;
+                }
                 log.info("找到招标采购导航，使用选择器: {}", xpath);
                 
                 // 滚动到元素可见
                 ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", navElement);
-                randomSleep();
+                throttle();
                 
                 // 尝试点击
                 try {
@@ -187,7 +204,7 @@ public class CrawlerServiceImpl implements CrawlerService {
                 log.info("成功点击招标采购导航");
                 return navElement;
             } catch (Exception e) {
-                log.debug("选择器 {} 未找到元素", xpath);
+                log.debug("选择器 {} 点击失败: {}", xpath, e.getMessage());
             }
         }
 
@@ -201,7 +218,7 @@ public class CrawlerServiceImpl implements CrawlerService {
 
         for (String css : cssSelectors) {
             try {
-                List<WebElement> elements = driver.findElements(By.cssSelector(css));
+                List<WebElement> elements = ElementLookup.probeAll(driver, By.cssSelector(css));
                 for (WebElement el : elements) {
                     String text = el.getText();
                     if (text != null && text.contains("招标采购")) {
@@ -259,14 +276,10 @@ public class CrawlerServiceImpl implements CrawlerService {
         };
 
         for (String selector : selectors) {
-            try {
-                List<WebElement> rows = driver.findElements(By.cssSelector(selector));
-                if (!rows.isEmpty()) {
-                    log.info("使用选择器 {} 找到 {} 个元素", selector, rows.size());
-                    return rows;
-                }
-            } catch (Exception e) {
-                // 继续尝试下一个选择器
+            List<WebElement> rows = ElementLookup.probeAll(driver, By.cssSelector(selector));
+            if (!rows.isEmpty()) {
+                log.info("使用选择器 {} 找到 {} 个元素", selector, rows.size());
+                return rows;
             }
         }
 
@@ -281,11 +294,11 @@ public class CrawlerServiceImpl implements CrawlerService {
 
         try {
             // 获取所有列
-            List<WebElement> cells = row.findElements(By.tagName("td"));
+            List<WebElement> cells = ElementLookup.probeAll(row, By.tagName("td"));
 
             if (cells.isEmpty()) {
                 // 尝试其他方式获取数据
-                cells = row.findElements(By.cssSelector(".cell, [class*='col']"));
+                cells = ElementLookup.probeAll(row, By.cssSelector(".cell, [class*='col']"));
             }
 
             if (cells.size() >= 4) {
@@ -308,12 +321,8 @@ public class CrawlerServiceImpl implements CrawlerService {
             }
 
             // 设置来源URL
-            try {
-                WebElement link = row.findElement(By.tagName("a"));
-                project.setSourceUrl(link.getAttribute("href"));
-            } catch (Exception e) {
-                project.setSourceUrl(crawlerConfig.getBiddingUrl());
-            }
+            WebElement link = ElementLookup.probe(row, By.tagName("a"));
+            project.setSourceUrl(link != null ? link.getAttribute("href") : crawlerConfig.getBiddingUrl());
 
         } catch (Exception e) {
             log.debug("解析行数据异常: {}", e.getMessage());
@@ -343,8 +352,8 @@ public class CrawlerServiceImpl implements CrawlerService {
                 return value;
             }
 
-            WebElement child = element.findElement(By.cssSelector(cssSelector));
-            return child.getText().trim();
+            WebElement child = ElementLookup.probe(element, By.cssSelector(cssSelector));
+            return child != null ? child.getText().trim() : "";
         } catch (Exception e) {
             return "";
         }
@@ -371,16 +380,11 @@ public class CrawlerServiceImpl implements CrawlerService {
     }
 
     /**
-     * 随机延迟
+     * 访问门户前获取限速令牌，并附加礼貌性随机抖动
      */
-    private void randomSleep() {
-        try {
-            int delay = seleniumConfig.getRandomDelay();
-            log.debug("等待 {}ms...", delay);
-            Thread.sleep(delay);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    private void throttle() {
+        rateLimiter.acquire(crawlerConfig.getTargetUrl());
+        pageWaiter.jitter();
     }
 
     /**
@@ -390,9 +394,9 @@ public class CrawlerServiceImpl implements CrawlerService {
         for (int i = 0; i < crawlerConfig.getRetryTimes(); i++) {
             try {
                 log.info("第 {} 次重试...", i + 1);
-                randomSleep();
+                throttle();
                 driver.navigate().refresh();
-                randomSleep();
+                throttle();
 
                 List<BiddingProject> retryProjects = parseProjectList(driver);
                 if (!retryProjects.isEmpty()) {
@@ -0,0 +1,351 @@
+package com.sgcc.crawler.service.impl;
+
+import com.sgcc.crawler.config.CrawlerConfig;
+import com.sgcc.crawler.config.SeleniumConfig;
+import com.sgcc.crawler.entity.AnnouncementType;
+import com.sgcc.crawler.entity.BiddingAnnouncement;
+import com.sgcc.crawler.metrics.CrawlMetrics;
+import com.sgcc.crawler.parser.AnnouncementParser;
+import com.sgcc.crawler.parser.ParserFactory;
+import com.sgcc.crawler.service.AnnouncementCrawlerService;
+import com.sgcc.crawler.service.AnnouncementStoreService;
+import com.sgcc.crawler.throttle.AdaptiveRateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 公告爬虫HTTP直连实现
+ * 直接调用门户列表/详情JSON接口，不启动浏览器；共用一个连接池化的 HttpClient，详情请求异步并发
+ * 遇到验证页、非JSON响应或响应结构无法识别时，整体回退到 Selenium 实现
+ * 接口地址均可配置，便于指向本地桩服务进行验证
+ */
+@Slf4j
+@Primary
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "crawler", name = "http-fast-path-enabled", havingValue = "true")
+public class HttpAnnouncementCrawlerServiceImpl implements AnnouncementCrawlerService {
+
+    private final CrawlerConfig crawlerConfig;
+    private final SeleniumConfig seleniumConfig;
+    private final ParserFactory parserFactory;
+    private final AnnouncementStoreService announcementStoreService;
+    private final AnnouncementCrawlerServiceImpl seleniumCrawlerService;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CrawlMetrics crawlMetrics;
+
+    private ExecutorService httpExecutor;
+    private HttpClient httpClient;
+    private Semaphore detailPermits;
+    private String userAgent;
+
+    @PostConstruct
+    public void init() {
+        int concurrency = Math.max(1, crawlerConfig.getHttpMaxConcurrency());
+        AtomicInteger threadIndex = new AtomicInteger();
+        httpExecutor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "crawl-http-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(crawlerConfig.getPageLoadTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (crawlerConfig.getProxyHost() != null && crawlerConfig.getProxyPort() != null) {
+            builder.proxy(ProxySelector.of(new InetSocketAddress(crawlerConfig.getProxyHost(), crawlerConfig.getProxyPort())));
+        }
+        httpClient = builder.build();
+        detailPermits = new Semaphore(concurrency);
+        userAgent = seleniumConfig.getRandomUserAgent();
+        log.info("HTTP直连通道已启用, 详情并发数 {}, 已配置菜单ID的类型: {}",
+                concurrency, crawlerConfig.getHttpMenuIds().keySet());
+        if (crawlerConfig.getHttpMenuIds().isEmpty()) {
+            log.warn("HTTP直连通道已启用但未配置 http-menu-ids，所有类型仍走Selenium");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public List<BiddingAnnouncement> crawlAnnouncements(AnnouncementType type) {
+        return crawlAnnouncements(type, true, -1);
+    }
+
+    @Override
+    public List<BiddingAnnouncement> crawlAnnouncements(AnnouncementType type, boolean fetchDetail, int limit) {
+        List<BiddingAnnouncement> announcements = crawlViaHttp(type, fetchDetail, limit);
+        return announcements != null ? announcements : seleniumCrawlerService.crawlAnnouncements(type, fetchDetail, limit);
+    }
+
+    /**
+     * 通过列表/详情接口爬取
+     * @return 爬取结果；未配置菜单ID或需要回退Selenium时返回 null
+     */
+    private List<BiddingAnnouncement> crawlViaHttp(AnnouncementType type, boolean fetchDetail, int limit) {
+        AnnouncementParser parser = parserFactory.getParser(type);
+        String menuId = crawlerConfig.getHttpMenuIds().get(type.name());
+        if (parser == null || !StringUtils.hasText(menuId)) {
+            log.debug("[{}] 未配置菜单ID，使用Selenium爬取", type.getDisplayName());
+            return null;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            IncrementalCrawlFilter incremental = crawlerConfig.isIncrementalEnabled()
+                    ? new IncrementalCrawlFilter(announcementStoreService, crawlerConfig.getIncrementalStopAfterKnown())
+                    : null;
+            List<BiddingAnnouncement> announcements = fetchList(parser, menuId, limit, incremental);
+            if (limit > 0 && announcements.size() > limit) {
+                announcements = new ArrayList<>(announcements.subList(0, limit));
+            }
+            if (fetchDetail) {
+                fetchDetails(parser, announcements);
+            }
+            log.info("[{}] HTTP直连爬取完成: {} 条, 耗时 {} ms",
+                    type.getDisplayName(), announcements.size(), System.currentTimeMillis() - start);
+            return announcements;
+        } catch (FallbackException e) {
+            log.warn("[{}] HTTP直连不可用({}), 回退Selenium", type.getDisplayName(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[{}] HTTP直连爬取被中断", type.getDisplayName());
+            return new ArrayList<>();
+        } catch (Exception e) {
+            log.warn("[{}] HTTP直连爬取失败, 回退Selenium: {}", type.getDisplayName(), e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public BiddingAnnouncement crawlAnnouncementDetail(BiddingAnnouncement announcement) {
+        AnnouncementParser parser = parserFactory.getParser(
+                AnnouncementType.valueOf(announcement.getAnnouncementType()));
+        if (parser != null && StringUtils.hasText(announcement.getDocId())) {
+            try {
+                String body = send(buildDetailRequest(announcement.getDocId())).join();
+                if (parser.parseDetailPayload(body, announcement) != null) {
+                    return announcement;
+                }
+            } catch (Exception e) {
+                log.debug("HTTP获取详情失败 {}: {}", announcement.getProjectCode(), e.getMessage());
+            }
+        }
+        return seleniumCrawlerService.crawlAnnouncementDetail(announcement);
+    }
+
+    @Override
+    public int manualCrawlAndSave(AnnouncementType type) {
+        log.info("开始手动爬取[{}], 优先HTTP直连", type.getDisplayName());
+        List<BiddingAnnouncement> announcements = crawlViaHttp(type, true, -1);
+        if (announcements == null) {
+            // 未配置菜单ID或直连不可用：由Selenium逐页入库，按严格规则检测变更
+            return seleniumCrawlerService.manualCrawlAndSave(type);
+        }
+        // 单条详情获取失败时只有列表字段，缺失的字段不计为变更
+        return announcementStoreService.saveWithDedup(announcements, type, true);
+    }
+
+    @Override
+    public int testCrawlAndSave(AnnouncementType type, int limit) {
+        log.info("开始测试爬取[{}], 优先HTTP直连, 限制条数: {}", type.getDisplayName(), limit);
+        List<BiddingAnnouncement> announcements = crawlViaHttp(type, true, limit);
+        if (announcements == null) {
+            return seleniumCrawlerService.testCrawlAndSave(type, limit);
+        }
+        return announcementStoreService.saveWithDedup(announcements, type, true);
+    }
+
+    @Override
+    public Map<AnnouncementType, Integer> crawlAllAndSave() {
+        // 复用Selenium实现的并行调度，各类型按是否配置菜单ID分别走直连或Selenium
+        return seleniumCrawlerService.crawlAllAndSave(this::manualCrawlAndSave);
+    }
+
+    /**
+     * 按 max-pages 逐页调用列表接口并解析，某页记录数不足一页时视为末页
+     * 首页没有可识别记录视为接口结构变化；增量模式下跳过已入库公告，追上上次进度后停止翻页
+     */
+    private List<BiddingAnnouncement> fetchList(AnnouncementParser parser, String menuId, int limit,
+                                                IncrementalCrawlFilter incremental) throws Exception {
+        int size = crawlerConfig.getHttpPageSize();
+        int maxPages = Math.max(1, crawlerConfig.getMaxPages());
+        List<BiddingAnnouncement> announcements = new ArrayList<>();
+
+        for (int page = 1; page <= maxPages; page++) {
+            String body = crawlerConfig.getHttpListBody()
+                    .replace("{page}", String.valueOf(page))
+                    .replace("{size}", String.valueOf(size))
+                    .replace("{menuId}", menuId);
+            long loadStart = crawlMetrics.start();
+            String json;
+            try {
+                json = await(send(buildRequest(crawlerConfig.getHttpListUrl(), body)));
+                crawlMetrics.record(CrawlMetrics.LIST_LOAD, parser.getSupportedType(), true, loadStart);
+            } catch (Exception e) {
+                crawlMetrics.record(CrawlMetrics.LIST_LOAD, parser.getSupportedType(), false, loadStart);
+                throw e;
+            }
+            long parseStart = crawlMetrics.start();
+            List<BiddingAnnouncement> records = parser.parseListPayload(json);
+            crawlMetrics.record(CrawlMetrics.LIST_PARSE, parser.getSupportedType(), "payload", parseStart);
+            crawlMetrics.count(CrawlMetrics.LIST_PARSE, parser.getSupportedType(), "payload", records.size());
+            if (records.isEmpty()) {
+                if (page == 1) {
+                    throw new FallbackException("列表接口响应中没有可识别的记录");
+                }
+                break;
+            }
+            announcements.addAll(incremental != null ? incremental.filter(records) : records);
+            if (records.size() < size || (limit > 0 && announcements.size() >= limit)
+                    || (incremental != null && incremental.isExhausted())) {
+                break;
+            }
+        }
+
+        String template = crawlerConfig.getHttpDetailPageUrlTemplate();
+        for (BiddingAnnouncement announcement : announcements) {
+            if (StringUtils.hasText(template) && StringUtils.hasText(announcement.getDocId())) {
+                announcement.setDetailUrl(template.replace("{docId}", announcement.getDocId()));
+            }
+        }
+        return announcements;
+    }
+
+    /**
+     * 并发调用详情接口，并发数受 http-max-concurrency 限制
+     * 单条失败保留列表信息；全部无法识别视为接口结构变化，整体回退
+     */
+    private void fetchDetails(AnnouncementParser parser, List<BiddingAnnouncement> announcements) throws Exception {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (BiddingAnnouncement announcement : announcements) {
+            if (!StringUtils.hasText(announcement.getDocId())) {
+                futures.add(CompletableFuture.completedFuture(false));
+                continue;
+            }
+            detailPermits.acquire();
+            long detailStart = crawlMetrics.start();
+            CompletableFuture<Boolean> future = send(buildDetailRequest(announcement.getDocId()))
+                    .thenApply(json -> parser.parseDetailPayload(json, announcement) != null)
+                    .exceptionally(e -> {
+                        log.debug("HTTP获取详情失败 {}: {}", announcement.getProjectCode(), e.getMessage());
+                        return false;
+                    })
+                    .whenComplete((ok, e) -> {
+                        detailPermits.release();
+                        crawlMetrics.record(CrawlMetrics.DETAIL_FETCH, parser.getSupportedType(),
+                                Boolean.TRUE.equals(ok), detailStart);
+                    });
+            futures.add(future);
+        }
+
+        int parsed = 0;
+        for (CompletableFuture<Boolean> future : futures) {
+            if (future.get()) {
+                parsed++;
+            }
+        }
+        if (parsed == 0 && !announcements.isEmpty()) {
+            throw new FallbackException("详情接口响应均无法识别");
+        }
+        log.info("HTTP详情获取完成: 成功 {}/{}", parsed, announcements.size());
+    }
+
+    /**
+     * 等待异步请求完成，解开 ExecutionException，使 FallbackException 等原始异常直接抛给调用方
+     */
+    private static <T> T await(CompletableFuture<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause != null ? cause.getMessage() : e.getMessage(), cause);
+        }
+    }
+
+    private HttpRequest buildDetailRequest(String docId) {
+        return buildRequest(crawlerConfig.getHttpDetailUrl(), crawlerConfig.getHttpDetailBody().replace("{docId}", docId));
+    }
+
+    private HttpRequest buildRequest(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(crawlerConfig.getPageLoadTimeout()))
+                .header("Content-Type", "application/json;charset=UTF-8")
+                .header("Accept", "application/json, text/plain, */*")
+                .header("User-Agent", userAgent)
+                .header("Referer", crawlerConfig.getTargetUrl())
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /**
+     * 获取限速令牌后异步发送请求，非200或返回HTML（验证页/错误页）时以 FallbackException 结束
+     * 响应耗时与成败反馈给限速器
+     */
+    private CompletableFuture<String> send(HttpRequest request) {
+        String url = request.uri().toString();
+        rateLimiter.acquire(url);
+        long start = System.currentTimeMillis();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new FallbackException("HTTP " + response.statusCode() + " " + request.uri());
+                    }
+                    String body = response.body();
+                    String contentType = response.headers().firstValue("Content-Type").orElse("");
+                    if (body == null || body.isBlank() || contentType.contains("text/html") || body.stripLeading().startsWith("<")) {
+                        throw new FallbackException("非JSON响应(疑似验证页) " + request.uri());
+                    }
+                    return body;
+                })
+                .whenComplete((body, e) -> {
+                    if (e == null) {
+                        rateLimiter.onSuccess(url, System.currentTimeMillis() - start);
+                    } else {
+                        rateLimiter.onFailure(url);
+                    }
+                });
+    }
+
+    /**
+     * 需要回退到Selenium的情况
+     */
+    private static class FallbackException extends RuntimeException {
+        FallbackException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sgcc.crawler.service.impl;
+
+import com.sgcc.crawler.entity.BiddingAnnouncement;
+import com.sgcc.crawler.service.AnnouncementStoreService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 增量爬取过滤器（单次爬取内有效）
+ * 列表按发布时间倒序，逐行用列表数据计算身份指纹并检查是否已入库：
+ * 已入库的行直接跳过，不再点击详情；连续遇到 stopAfterKnown 条已入库公告时认为已追上上次进度，停止后续翻页
+ */
+@Slf4j
+class IncrementalCrawlFilter {
+
+    private final AnnouncementStoreService announcementStoreService;
+    private final int stopAfterKnown;
+    private int knownRun = 0;
+    private int skipped = 0;
+    private boolean exhausted = false;
+
+    IncrementalCrawlFilter(AnnouncementStoreService announcementStoreService, int stopAfterKnown) {
+        this.announcementStoreService = announcementStoreService;
+        this.stopAfterKnown = Math.max(1, stopAfterKnown);
+    }
+
+    /**
+     * 过滤一页列表数据，返回尚未入库的公告
+     */
+    List<BiddingAnnouncement> filter(List<BiddingAnnouncement> page) {
+        List<String> hashes = new ArrayList<>();
+        for (BiddingAnnouncement announcement : page) {
+            hashes.add(announcementStoreService.computeContentHash(announcement));
+        }
+        Set<String> known;
+        try {
+            known = announcementStoreService.findKnownHashes(hashes);
+        } catch (Exception e) {
+            log.warn("查询公告是否已入库失败，按新公告处理: {}", e.getMessage());
+            known = Set.of();
+        }
+
+        List<BiddingAnnouncement> unknown = new ArrayList<>();
+        for (int i = 0; i < page.size() && !exhausted; i++) {
+            BiddingAnnouncement announcement = page.get(i);
+            boolean hasCode = announcement.getProjectCode() != null && !announcement.getProjectCode().isBlank();
+            if (hasCode && known.contains(hashes.get(i))) {
+                skipped++;
+                if (++knownRun >= stopAfterKnown) {
+                    exhausted = true;
+                    log.info("连续 {} 条公告已入库，停止增量爬取", knownRun);
+                }
+            } else {
+                knownRun = 0;
+                unknown.add(announcement);
+            }
+        }
+        return unknown;
+    }
+
+    /**
+     * 是否已追上上次爬取进度（无需继续翻页）
+     */
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * 已跳过的已入库公告数
+     */
+    int getSkipped() {
+        return skipped;
+    }
+}
@@ -4,18 +4,27 @@ import com.sgcc.crawler.config.DingTalkConfig;
 import com.sgcc.crawler.entity.AnnouncementType;
 import com.sgcc.crawler.entity.BiddingAnnouncement;
 import com.sgcc.crawler.entity.BiddingProject;
-import com.sgcc.crawler.mapper.BiddingProjectMapper;
+import com.sgcc.crawler.entity.NotificationOutbox;
+import com.sgcc.crawler.mapper.NotificationOutboxMapper;
+import com.sgcc.crawler.notify.NotificationDigest;
+import com.sgcc.crawler.notify.NotificationQueue;
 import com.sgcc.crawler.service.NotifyService;
-import com.sgcc.crawler.util.DingTalkUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 钉钉通知推送服务实现
+ * 公告/项目通知写入发件箱表（调用方在事务中调用时与业务数据一同提交），由发件箱分发任务发送并标记已推送；
+ * 自定义消息直接提交到异步通知队列
  */
 @Slf4j
 @Service
@@ -23,7 +32,8 @@ import java.util.List;
 public class NotifyServiceImpl implements NotifyService {
 
     private final DingTalkConfig dingTalkConfig;
-    private final BiddingProjectMapper biddingProjectMapper;
+    private final NotificationOutboxMapper outboxMapper;
+    private final NotificationQueue notificationQueue;
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -49,18 +59,7 @@ public class NotifyServiceImpl implements NotifyService {
             content.append("[查看详情](").append(project.getSourceUrl()).append(")");
         }
 
-        boolean success = DingTalkUtil.sendMarkdown(
-                dingTalkConfig.getWebhook(),
-                dingTalkConfig.getSecret(),
-                title,
-                content.toString()
-        );
-
-        if (success) {
-            // 更新推送状态
-            project.setNotified(1);
-            biddingProjectMapper.updateById(project);
-        }
+        enqueue(NotificationOutbox.EVENT_NEW_PROJECT, project.getId(), title, content.toString(), null, null);
     }
 
     @Override
@@ -82,12 +81,7 @@ public class NotifyServiceImpl implements NotifyService {
             content.append("[查看详情](").append(project.getSourceUrl()).append(")");
         }
 
-        DingTalkUtil.sendMarkdown(
-                dingTalkConfig.getWebhook(),
-                dingTalkConfig.getSecret(),
-                title,
-                content.toString()
-        );
+        enqueue(NotificationOutbox.EVENT_PROJECT_STATUS_CHANGE, project.getId(), title, content.toString(), null, null);
     }
 
     @Override
@@ -97,12 +91,7 @@ public class NotifyServiceImpl implements NotifyService {
             return;
         }
 
-        DingTalkUtil.sendMarkdown(
-                dingTalkConfig.getWebhook(),
-                dingTalkConfig.getSecret(),
-                title,
-                content
-        );
+        notificationQueue.submit(title, content, null);
     }
 
     @Override
@@ -130,11 +119,15 @@ public class NotifyServiceImpl implements NotifyService {
             content.append("[查看详情](").append(announcement.getDetailUrl()).append(")");
         }
 
-        boolean success = DingTalkUtil.sendMarkdown(
-                dingTalkConfig.getWebhook(), dingTalkConfig.getSecret(), title, content.toString());
-        if (success) {
-            log.info("新公告推送成功: {} - {}", announcement.getProjectCode(), announcement.getProjectName());
+        StringBuilder line = new StringBuilder();
+        line.append("- ").append(link(announcement)).append(" | ").append(safe(announcement.getProjectCode()));
+        line.append(" | ").append(safe(announcement.getProjectStatus()));
+        if (announcement.getBidOpenTime() != null) {
+            line.append(" | 开标 ").append(announcement.getBidOpenTime().format(FORMATTER));
         }
+
+        enqueue(NotificationOutbox.EVENT_NEW_ANNOUNCEMENT, announcement.getId(), title, content.toString(),
+                typeName, line.toString());
     }
 
     @Override
@@ -159,12 +152,96 @@ public class NotifyServiceImpl implements NotifyService {
             content.append("[查看详情](").append(announcement.getDetailUrl()).append(")");
         }
 
-        boolean success = DingTalkUtil.sendMarkdown(
-                dingTalkConfig.getWebhook(), dingTalkConfig.getSecret(), title, content.toString());
-        if (success) {
-            log.info("公告变更推送成功: {} - {}, 变更: {}",
-                    announcement.getProjectCode(), announcement.getProjectName(), changedFields);
+        String line = "- " + link(announcement) + " | " + safe(announcement.getProjectCode()) +
+                " | 变更: " + String.join("、", changedFields);
+
+        enqueue(NotificationOutbox.EVENT_ANNOUNCEMENT_UPDATE, announcement.getId(), title, content.toString(),
+                typeName, line);
+    }
+
+    /**
+     * 同一事件类型、同一公告类型的多条通知合并为摘要消息，按 digest-max-items 与 digest-max-bytes 拆分；
+     * 无分组键或只有一条的通知按原消息发送
+     */
+    @Override
+    public List<NotificationDigest> buildDigests(List<NotificationOutbox> messages) {
+        Map<String, List<NotificationOutbox>> groups = new LinkedHashMap<>();
+        List<NotificationDigest> digests = new ArrayList<>();
+        for (NotificationOutbox message : messages) {
+            if (!dingTalkConfig.isDigestEnabled() || message.getDigestKey() == null || message.getDigestLine() == null) {
+                digests.add(single(message));
+            } else {
+                groups.computeIfAbsent(message.getEventType() + "|" + message.getDigestKey(), k -> new ArrayList<>())
+                        .add(message);
+            }
         }
+
+        int maxItems = Math.max(1, dingTalkConfig.getDigestMaxItems());
+        int maxBytes = dingTalkConfig.getDigestMaxBytes();
+        for (List<NotificationOutbox> group : groups.values()) {
+            if (group.size() == 1) {
+                digests.add(single(group.get(0)));
+                continue;
+            }
+            boolean isNew = NotificationOutbox.EVENT_NEW_ANNOUNCEMENT.equals(group.get(0).getEventType());
+            String typeName = group.get(0).getDigestKey();
+            List<NotificationOutbox> chunk = new ArrayList<>();
+            int bytes = 0;
+            for (NotificationOutbox message : group) {
+                int lineBytes = message.getDigestLine().getBytes(StandardCharsets.UTF_8).length + 1;
+                if (!chunk.isEmpty() && (chunk.size() >= maxItems || bytes + lineBytes > maxBytes - 200)) {
+                    digests.add(digest(chunk, isNew, typeName));
+                    chunk = new ArrayList<>();
+                    bytes = 0;
+                }
+                chunk.add(message);
+                bytes += lineBytes;
+            }
+            digests.add(chunk.size() == 1 ? single(chunk.get(0)) : digest(chunk, isNew, typeName));
+        }
+        return digests;
+    }
+
+    private NotificationDigest single(NotificationOutbox message) {
+        return new NotificationDigest(message.getTitle(), message.getContent(), List.of(message),
+                AnnouncementType.fromDisplayName(message.getDigestKey()));
+    }
+
+    private NotificationDigest digest(List<NotificationOutbox> chunk, boolean isNew, String typeName) {
+        String title = (isNew ? "新公告" : "公告变更") + "(" + chunk.size() + "条): " + typeName;
+        StringBuilder content = new StringBuilder();
+        content.append("### ").append(isNew ? "新招标公告 " : "招标公告变更 ").append(chunk.size()).append(" 条\n\n");
+        content.append("**公告类型**: ").append(typeName).append("\n\n");
+        for (NotificationOutbox message : chunk) {
+            content.append(message.getDigestLine()).append("\n");
+        }
+        return new NotificationDigest(title, content.toString(), List.copyOf(chunk),
+                AnnouncementType.fromDisplayName(typeName));
+    }
+
+    /**
+     * 写入发件箱
+     * 可合并为摘要的公告通知延迟 digest-window-seconds 后发送，使同一批次的通知在同一次分发中合并
+     */
+    private void enqueue(String eventType, Long refId, String title, String content,
+                         String digestKey, String digestLine) {
+        boolean digestible = dingTalkConfig.isDigestEnabled() && digestKey != null;
+        outboxMapper.insert(NotificationOutbox.builder()
+                .eventType(eventType)
+                .refId(refId)
+                .title(title)
+                .content(content)
+                .digestKey(digestKey)
+                .digestLine(digestLine != null && digestLine.length() > 1000 ? digestLine.substring(0, 1000) : digestLine)
+                .status(NotificationOutbox.STATUS_PENDING)
+                .attempts(0)
+                .nextAttemptAt(digestible ? LocalDateTime.now().plusSeconds(dingTalkConfig.getDigestWindowSeconds()) : null)
+                .build());
+    }
+
+    private String link(BiddingAnnouncement announcement) {
+        String name = safe(announcement.getProjectName());
+        return announcement.getDetailUrl() != null ? "[" + name + "](" + announcement.getDetailUrl() + ")" : name;
     }
 
     private String resolveTypeName(BiddingAnnouncement announcement) {
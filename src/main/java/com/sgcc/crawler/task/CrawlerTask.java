@@ -1,5 +1,6 @@
 package com.sgcc.crawler.task;
 
+import com.sgcc.crawler.config.CrawlerConfig;
 import com.sgcc.crawler.entity.AnnouncementType;
 import com.sgcc.crawler.service.AnnouncementCrawlerService;
 import com.sgcc.crawler.service.CrawlerService;
@@ -23,6 +24,7 @@ import java.util.Map;
 public class CrawlerTask {
 
     private final CrawlerService crawlerService;
+    private final CrawlerConfig crawlerConfig;
 
     @Resource
     private AnnouncementCrawlerService announcementCrawlerService;
@@ -65,6 +67,10 @@ public class CrawlerTask {
      */
     @Scheduled(cron = "${schedule.cron.bidding:0 0 */3 * * ?}")
     public void scheduledCrawlBidding() {
+        if (crawlerConfig.isCrawlAllTypes()) {
+            scheduledCrawlAllTypes();
+            return;
+        }
         log.info("==== 开始执行定时爬取招标公告任务 ====");
         try {
             AnnouncementType announcementType = AnnouncementType.valueOf("BIDDING_ANNOUNCEMENT");
@@ -76,4 +82,18 @@ public class CrawlerTask {
             log.warn("定时爬取出现异常，异常打印：{}", e.toString());
         }
     }
+
+    /**
+     * 全类型爬取模式：并行爬取所有公告类型
+     */
+    private void scheduledCrawlAllTypes() {
+        log.info("==== 开始执行定时全类型爬取任务 ====");
+        try {
+            Map<AnnouncementType, Integer> result = announcementCrawlerService.crawlAllAndSave();
+            int total = result.values().stream().mapToInt(Integer::intValue).sum();
+            log.info("全类型爬取完成，新增公告总数：{}，明细：{}", total, result);
+        } catch (Exception e) {
+            log.warn("定时全类型爬取出现异常，异常打印：{}", e.toString());
+        }
+    }
 }
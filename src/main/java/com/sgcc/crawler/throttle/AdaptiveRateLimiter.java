@@ -0,0 +1,153 @@
+package com.sgcc.crawler.throttle;
+
+import com.sgcc.crawler.config.CrawlerConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按主机划分的自适应限速器（令牌桶 + AIMD）
+ * 所有爬取通道（浏览器导航/点击、HTTP直连请求）在访问门户前先获取令牌，保证对同一主机的全局请求速率受控；
+ * 请求成功且响应时间低于阈值时速率线性增加，失败或响应变慢时速率按比例下降
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveRateLimiter {
+
+    private final CrawlerConfig crawlerConfig;
+
+    private final Map<String, HostBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 获取一个令牌，令牌不足时阻塞等待
+     * @param url 目标地址或主机名
+     */
+    public void acquire(String url) {
+        if (!crawlerConfig.isRateLimitEnabled()) {
+            return;
+        }
+        long waitNanos = bucket(url).reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 反馈一次成功请求的耗时
+     */
+    public void onSuccess(String url, long latencyMillis) {
+        if (!crawlerConfig.isRateLimitEnabled()) {
+            return;
+        }
+        HostBucket bucket = bucket(url);
+        if (latencyMillis > crawlerConfig.getRateLimitLatencyThresholdMillis()) {
+            bucket.decrease("响应耗时 " + latencyMillis + "ms");
+        } else {
+            bucket.increase();
+        }
+    }
+
+    /**
+     * 反馈一次失败请求（超时、异常、非正常响应）
+     */
+    public void onFailure(String url) {
+        if (!crawlerConfig.isRateLimitEnabled()) {
+            return;
+        }
+        bucket(url).decrease("请求失败");
+    }
+
+    /**
+     * 各主机当前速率(次/秒)
+     */
+    public Map<String, Double> getRates() {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        buckets.forEach((host, bucket) -> rates.put(host, bucket.rate()));
+        return rates;
+    }
+
+    private HostBucket bucket(String url) {
+        return buckets.computeIfAbsent(hostOf(url), host -> new HostBucket(host,
+                crawlerConfig.getRateLimitInitialPerSecond(), crawlerConfig.getRateLimitBurst()));
+    }
+
+    private String hostOf(String url) {
+        if (url == null || url.isBlank()) {
+            return "default";
+        }
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    /**
+     * 单个主机的令牌桶
+     * 以"下一个令牌可用时间"记账：预约令牌时推进该时间，调用方在锁外休眠，多个线程按预约顺序放行
+     */
+    private class HostBucket {
+
+        private final String host;
+        private final double burst;
+        private double rate;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        HostBucket(String host, double rate, double burst) {
+            this.host = host;
+            this.rate = rate;
+            this.burst = Math.max(1, burst);
+            this.tokens = this.burst;
+        }
+
+        /**
+         * 预约一个令牌，返回需要等待的纳秒数
+         */
+        synchronized long reserve() {
+            refill();
+            tokens -= 1;
+            if (tokens >= 0) {
+                return 0;
+            }
+            return (long) (-tokens / rate * 1_000_000_000L);
+        }
+
+        synchronized void increase() {
+            refill();
+            rate = Math.min(crawlerConfig.getRateLimitMaxPerSecond(), rate + crawlerConfig.getRateLimitIncreaseStep());
+        }
+
+        synchronized void decrease(String reason) {
+            refill();
+            double previous = rate;
+            rate = Math.max(crawlerConfig.getRateLimitMinPerSecond(), rate * crawlerConfig.getRateLimitDecreaseFactor());
+            if (rate < previous) {
+                log.info("[{}] {}，降低访问速率: {} -> {} 次/秒", host, reason,
+                        String.format("%.2f", previous), String.format("%.2f", rate));
+            }
+        }
+
+        synchronized double rate() {
+            return rate;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) / 1_000_000_000.0 * rate);
+            lastRefill = now;
+        }
+    }
+}
@@ -1,23 +1,34 @@
 package com.sgcc.crawler.util;
 
-import cn.hutool.crypto.digest.HMac;
-import cn.hutool.crypto.digest.HmacAlgorithm;
 import cn.hutool.http.HttpRequest;
 import cn.hutool.http.HttpResponse;
 import cn.hutool.json.JSONObject;
-import cn.hutool.json.JSONUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 钉钉机器人工具类
+ * 请求显式保持长连接并在读完响应后关闭，连接回到 JDK 的 keep-alive 连接缓存中复用；
+ * 签名用的 Mac 按密钥缓存，响应按 JSON token 流只读取顶层 errcode 不构建完整JSON对象
  */
 @Slf4j
 public class DingTalkUtil {
 
+    private static final Map<String, ThreadLocal<Mac>> MACS = new ConcurrentHashMap<>();
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     /**
      * 发送文本消息
      */
@@ -72,22 +83,21 @@ public class DingTalkUtil {
         try {
             String url = buildUrl(webhook, secret);
 
-            HttpResponse response = HttpRequest.post(url)
+            try (HttpResponse response = HttpRequest.post(url)
                     .header("Content-Type", "application/json")
+                    .keepAlive(true)
                     .body(message.toString())
                     .timeout(10000)
-                    .execute();
-
-            String body = response.body();
-            JSONObject result = JSONUtil.parseObj(body);
-
-            int errcode = result.getInt("errcode", -1);
-            if (errcode == 0) {
-                log.info("钉钉消息发送成功");
-                return true;
-            } else {
-                log.error("钉钉消息发送失败: {}", body);
-                return false;
+                    .execute()) {
+                String body = response.body();
+                int errcode = response.isOk() ? parseErrcode(body) : -1;
+                if (errcode == 0) {
+                    log.info("钉钉消息发送成功");
+                    return true;
+                } else {
+                    log.error("钉钉消息发送失败: {} {}", response.getStatus(), body);
+                    return false;
+                }
             }
         } catch (Exception e) {
             log.error("钉钉消息发送异常", e);
@@ -95,6 +105,33 @@ public class DingTalkUtil {
         }
     }
 
+    /**
+     * 以流式 token 读取响应顶层的 errcode，不构建完整的JSON对象；
+     * 嵌套对象/数组整体跳过，字符串值里出现的 "errcode" 不会被误读
+     * @return errcode，未找到、非整数或响应不是合法JSON时返回 -1
+     */
+    static int parseErrcode(String body) {
+        if (body == null || body.isEmpty()) {
+            return -1;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return -1;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("errcode".equals(field)) {
+                    return value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : -1;
+                }
+                parser.skipChildren();
+            }
+            return -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     /**
      * 构建带签名的URL
      */
@@ -107,8 +144,8 @@ public class DingTalkUtil {
             long timestamp = System.currentTimeMillis();
             String stringToSign = timestamp + "\n" + secret;
 
-            HMac hmac = new HMac(HmacAlgorithm.HmacSHA256, secret.getBytes(StandardCharsets.UTF_8));
-            byte[] signData = hmac.digest(stringToSign);
+            Mac mac = MACS.computeIfAbsent(secret, DingTalkUtil::macFor).get();
+            byte[] signData = mac.doFinal(stringToSign.getBytes(StandardCharsets.UTF_8));
             String sign = URLEncoder.encode(Base64.getEncoder().encodeToString(signData), StandardCharsets.UTF_8);
 
             return webhook + "&timestamp=" + timestamp + "&sign=" + sign;
@@ -117,4 +154,20 @@ public class DingTalkUtil {
             return webhook;
         }
     }
+
+    /**
+     * 每个密钥一个按线程缓存的 Mac（Mac 非线程安全，doFinal 后自动重置可直接复用）
+     */
+    private static ThreadLocal<Mac> macFor(String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        return ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (Exception e) {
+                throw new IllegalStateException("HmacSHA256 初始化失败", e);
+            }
+        });
+    }
 }
@@ -50,6 +50,7 @@ CREATE TABLE IF NOT EXISTS bidding_announcement (
     change_file_url VARCHAR(1000) COMMENT '变更公告文件下载链接',
     publish_time DATETIME COMMENT '发布时间',
     content_hash VARCHAR(64) COMMENT '内容指纹MD5，基于projectCode+announcementType+projectName计算',
+    field_hash CHAR(32) COMMENT '变更指纹MD5，基于参与变更检测的字段计算',
     notified TINYINT DEFAULT 0 COMMENT '是否已推送 0-否 1-是',
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '数据抓取时间',
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
@@ -62,8 +63,34 @@ CREATE TABLE IF NOT EXISTS bidding_announcement (
     INDEX idx_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='招标公告详情表';
 
+-- 通知发件箱表
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '主键ID',
+    event_type VARCHAR(50) NOT NULL COMMENT '事件类型: NEW_ANNOUNCEMENT/ANNOUNCEMENT_UPDATE/NEW_PROJECT/PROJECT_STATUS_CHANGE',
+    ref_id BIGINT COMMENT '关联的公告或项目ID',
+    title VARCHAR(200) COMMENT '消息标题',
+    content TEXT COMMENT '消息内容(Markdown)',
+    digest_key VARCHAR(50) COMMENT '摘要分组键(公告类型)，为空时单独发送',
+    digest_line VARCHAR(1000) COMMENT '合并为摘要时使用的单行内容',
+    status TINYINT DEFAULT 0 COMMENT '状态 0-待发送 1-发送中 2-已发送 3-发送失败',
+    attempts INT DEFAULT 0 COMMENT '已尝试次数',
+    next_attempt_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '下次可发送时间',
+    claim_token VARCHAR(64) COMMENT '认领批次标识',
+    claimed_at DATETIME COMMENT '认领时间',
+    last_error VARCHAR(500) COMMENT '最近一次失败原因',
+    sent_at DATETIME COMMENT '发送成功时间',
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    INDEX idx_status_next_attempt (status, next_attempt_at),
+    INDEX idx_claim_token (claim_token),
+    INDEX idx_event_ref (event_type, ref_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='通知发件箱表';
+
 -- 增量升级脚本（已有表执行）
 ALTER TABLE bidding_announcement ADD COLUMN IF NOT EXISTS bidding_file_url VARCHAR(1000) COMMENT '招标文件下载链接' AFTER file_download_url;
 ALTER TABLE bidding_announcement ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64) COMMENT '内容指纹MD5' AFTER publish_time;
 ALTER TABLE bidding_announcement DROP INDEX IF EXISTS uk_code_type;
 ALTER TABLE bidding_announcement ADD UNIQUE INDEX IF NOT EXISTS uk_content_hash (content_hash);
+ALTER TABLE bidding_announcement ADD COLUMN IF NOT EXISTS field_hash CHAR(32) COMMENT '变更指纹MD5' AFTER content_hash;
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS digest_key VARCHAR(50) COMMENT '摘要分组键(公告类型)' AFTER content;
+ALTER TABLE notification_outbox ADD COLUMN IF NOT EXISTS digest_line VARCHAR(1000) COMMENT '合并为摘要时使用的单行内容' AFTER digest_key;
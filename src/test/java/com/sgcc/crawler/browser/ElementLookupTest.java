@@ -0,0 +1,37 @@
+package com.sgcc.crawler.browser;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 零等待探测的异常边界：元素级异常视为未找到，会话级异常向上抛出
+ */
+class ElementLookupTest {
+
+    private final SearchContext context = mock(SearchContext.class);
+
+    @Test
+    void staleContextIsTreatedAsNotFound() {
+        when(context.findElements(any(By.class))).thenThrow(new StaleElementReferenceException("stale"));
+
+        assertThat(ElementLookup.probeAll(context, By.cssSelector(".row"))).isEmpty();
+        assertThat(ElementLookup.probe(context, By.cssSelector(".row"))).isNull();
+    }
+
+    @Test
+    void lostSessionPropagates() {
+        when(context.findElements(any(By.class))).thenThrow(new NoSuchSessionException("session deleted"));
+
+        assertThatThrownBy(() -> ElementLookup.probeAll(context, By.cssSelector(".row")))
+                .isInstanceOf(NoSuchSessionException.class);
+    }
+}
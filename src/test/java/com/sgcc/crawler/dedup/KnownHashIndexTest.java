@@ -0,0 +1,60 @@
+package com.sgcc.crawler.dedup;
+
+import com.sgcc.crawler.config.CrawlerConfig;
+import com.sgcc.crawler.mapper.BiddingAnnouncementMapper;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 指纹索引加载与增量追加
+ */
+class KnownHashIndexTest {
+
+    private static final String STORED = "0123456789abcdef0123456789abcdef";
+    private static final String SAVED_DURING_LOAD = "fedcba9876543210fedcba9876543210";
+    private static final String SAVED_AFTER_LOAD = "00000000000000000000000000000001";
+
+    private final BiddingAnnouncementMapper mapper = mock(BiddingAnnouncementMapper.class);
+    private final KnownHashIndex index = new KnownHashIndex(mapper, new CrawlerConfig());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsHashesAddedWhileLoading() {
+        doAnswer(invocation -> {
+            ResultHandler<String> handler = invocation.getArgument(0);
+            // 流式加载过程中另一条公告入库
+            index.add(SAVED_DURING_LOAD);
+            assertThat(index.isLoaded()).isFalse();
+            ResultContext<String> context = mock(ResultContext.class);
+            when(context.getResultObject()).thenReturn(STORED);
+            handler.handleResult(context);
+            return null;
+        }).when(mapper).selectAllContentHashes(any());
+
+        index.load();
+        index.add(SAVED_AFTER_LOAD);
+
+        assertThat(index.isLoaded()).isTrue();
+        for (String hash : List.of(STORED, SAVED_DURING_LOAD, SAVED_AFTER_LOAD)) {
+            assertThat(index.contains(hash)).as(hash).isTrue();
+        }
+        assertThat(index.contains("11111111111111111111111111111111")).isFalse();
+    }
+
+    @Test
+    void ignoresAddsBeforeLoadStarts() {
+        index.add(STORED);
+
+        assertThat(index.isLoaded()).isFalse();
+        assertThat(index.contains(STORED)).isFalse();
+    }
+}
@@ -0,0 +1,92 @@
+package com.sgcc.crawler.parser;
+
+import com.sgcc.crawler.entity.BiddingAnnouncement;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.net.URL;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 列表行批量抽取脚本测试
+ * 在无头Chrome中加载静态列表页，确认脚本可执行且抽取结果正确（脚本语法错误时 extractListRows 会静默回退为逐行解析）
+ * 本机没有可用的Chrome时跳过
+ */
+class ListRowExtractionTest {
+
+    private static WebDriver driver;
+
+    private final BiddingAnnouncementParser parser = new BiddingAnnouncementParser();
+
+    @BeforeAll
+    static void startBrowser() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage", "--disable-gpu");
+        String chromeBin = System.getenv("CHROME_BIN");
+        if (chromeBin != null && !chromeBin.isBlank()) {
+            options.setBinary(chromeBin);
+        }
+        try {
+            driver = new ChromeDriver(options);
+        } catch (Exception e) {
+            Assumptions.abort("无可用的Chrome，跳过: " + e.getMessage());
+        }
+    }
+
+    @AfterAll
+    static void stopBrowser() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Test
+    void extractsTableRowsInOneScript() {
+        open("fixtures/list-table.html");
+
+        List<ListRowData> rows = parser.extractListRows(driver);
+
+        assertThat(rows).as("脚本执行失败时返回 null").isNotNull().hasSize(2);
+        assertThat(rows.get(0).getCells())
+                .containsExactly("国网某省电力公司2024年第一批物资招标", "SGCC-2024-001", "正在招标", "2024-03-01 09:30:00");
+        assertThat(rows.get(0).getHrefs()).containsExactly("https://ecp.sgcc.com.cn/detail/1");
+        assertThat(rows.get(0).getElement()).isNotNull();
+        assertThat(rows.get(1).getHrefs()).isEmpty();
+    }
+
+    @Test
+    void fallsBackToColumnCellsWithoutTable() {
+        open("fixtures/list-cells.html");
+
+        List<ListRowData> rows = parser.extractListRows(driver);
+
+        assertThat(rows).isNotNull().hasSize(1);
+        assertThat(rows.get(0).getCells())
+                .containsExactly("国网某省电力公司服务类招标", "SGCC-2024-101", "正在招标", "2024-04-01 10:00:00");
+    }
+
+    @Test
+    void parseListUsesBatchExtraction() {
+        open("fixtures/list-table.html");
+
+        List<BiddingAnnouncement> announcements = parser.parseList(driver);
+
+        assertThat(announcements).extracting(BiddingAnnouncement::getProjectCode)
+                .containsExactly("SGCC-2024-001", "SGCC-2024-002");
+        assertThat(announcements.get(0).getProjectStatus()).isEqualTo("正在招标");
+        assertThat(announcements.get(0).getPublishTime()).isNotNull();
+    }
+
+    private void open(String fixture) {
+        URL url = getClass().getClassLoader().getResource(fixture);
+        assertThat(url).as(fixture).isNotNull();
+        driver.get(url.toString());
+    }
+}
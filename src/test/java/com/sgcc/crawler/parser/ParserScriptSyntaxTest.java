@@ -0,0 +1,31 @@
+package com.sgcc.crawler.parser;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mozilla.javascript.Context;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * 注入浏览器的脚本语法校验
+ * 脚本以 executeScript 的方式（函数体）编译，不依赖浏览器，保证语法错误在构建时暴露
+ */
+class ParserScriptSyntaxTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"LIST_ROWS_SCRIPT", "SNAPSHOT_SCRIPT"})
+    void scriptCompiles(String name) {
+        String script = "LIST_ROWS_SCRIPT".equals(name)
+                ? AbstractAnnouncementParser.LIST_ROWS_SCRIPT
+                : DetailSnapshot.SNAPSHOT_SCRIPT;
+        Context context = Context.enter();
+        try {
+            assertThatCode(() -> context.compileFunction(context.initStandardObjects(),
+                    "function script() {\n" + script + "\n}", name, 1, null))
+                    .as(name)
+                    .doesNotThrowAnyException();
+        } finally {
+            Context.exit();
+        }
+    }
+}
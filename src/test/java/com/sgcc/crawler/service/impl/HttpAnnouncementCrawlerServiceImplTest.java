@@ -0,0 +1,227 @@
+package com.sgcc.crawler.service.impl;
+
+import com.sgcc.crawler.config.CrawlerConfig;
+import com.sgcc.crawler.config.SeleniumConfig;
+import com.sgcc.crawler.entity.AnnouncementType;
+import com.sgcc.crawler.entity.BiddingAnnouncement;
+import com.sgcc.crawler.metrics.CrawlMetrics;
+import com.sgcc.crawler.parser.BiddingAnnouncementParser;
+import com.sgcc.crawler.parser.ParserFactory;
+import com.sgcc.crawler.service.AnnouncementStoreService;
+import com.sgcc.crawler.throttle.AdaptiveRateLimiter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * HTTP直连通道测试
+ * 以本地 HttpServer 回放录制的列表/详情接口响应，验证解析结果以及验证页、非200响应时回退Selenium
+ */
+class HttpAnnouncementCrawlerServiceImplTest {
+
+    private static final AnnouncementType TYPE = AnnouncementType.BIDDING_ANNOUNCEMENT;
+    private static final String JSON = "application/json;charset=UTF-8";
+    private static final String HTML = "text/html;charset=UTF-8";
+
+    /**
+     * 接口路径（详情接口为 路径/docId）-> 响应
+     */
+    private final Map<String, Reply> replies = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private AnnouncementCrawlerServiceImpl seleniumCrawlerService;
+    private AnnouncementStoreService storeService;
+    private HttpAnnouncementCrawlerServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        CrawlerConfig config = new CrawlerConfig();
+        config.setHttpFastPathEnabled(true);
+        config.setHttpListUrl(baseUrl + "/index/noteList");
+        config.setHttpDetailUrl(baseUrl + "/index/getNoticeBid");
+        config.setHttpMenuIds(Map.of(TYPE.name(), "2018032700291334"));
+        config.setHttpDetailPageUrlTemplate("https://ecp.sgcc.com.cn/ecp2.0/portal/#/doc/doci-bid/{docId}");
+        config.setTargetUrl(baseUrl + "/");
+        config.setRateLimitEnabled(false);
+        config.setPageLoadTimeout(5);
+
+        SeleniumConfig seleniumConfig = mock(SeleniumConfig.class);
+        when(seleniumConfig.getRandomUserAgent()).thenReturn("Mozilla/5.0");
+        ParserFactory parserFactory = mock(ParserFactory.class);
+        when(parserFactory.getParser(TYPE)).thenReturn(new BiddingAnnouncementParser());
+        seleniumCrawlerService = mock(AnnouncementCrawlerServiceImpl.class);
+        when(seleniumCrawlerService.crawlAnnouncements(eq(TYPE), anyBoolean(), anyInt())).thenReturn(List.of());
+
+        storeService = mock(AnnouncementStoreService.class);
+        service = new HttpAnnouncementCrawlerServiceImpl(config, seleniumConfig, parserFactory,
+                storeService, seleniumCrawlerService,
+                new AdaptiveRateLimiter(config), new CrawlMetrics(new SimpleMeterRegistry()));
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void parsesRecordedListAndDetailPayloads() {
+        replies.put("/index/noteList", Reply.fixture(200, JSON, "note-list.json"));
+        replies.put("/index/getNoticeBid/2024030100001", Reply.fixture(200, JSON, "notice-detail.json"));
+        replies.put("/index/getNoticeBid/2024030100002", Reply.fixture(200, JSON, "notice-detail.json"));
+
+        List<BiddingAnnouncement> announcements = service.crawlAnnouncements(TYPE, true, -1);
+
+        assertThat(announcements).extracting(BiddingAnnouncement::getProjectCode)
+                .containsExactly("SGCC-2024-001", "SGCC-2024-002");
+        BiddingAnnouncement first = announcements.get(0);
+        assertThat(first.getProjectName()).isEqualTo("国网某省电力公司2024年第一批物资招标");
+        assertThat(first.getAnnouncementType()).isEqualTo(TYPE.name());
+        assertThat(first.getDetailUrl()).endsWith("/doc/doci-bid/2024030100001");
+        assertThat(first.getTenderer()).isEqualTo("国网某省电力公司");
+        assertThat(first.getContactPerson()).isEqualTo("张工");
+        assertThat(first.getBidOpenTime()).isNotNull();
+        verify(seleniumCrawlerService, never()).crawlAnnouncements(eq(TYPE), anyBoolean(), anyInt());
+    }
+
+    @Test
+    void keepsListFieldsWhenSingleDetailFails() {
+        replies.put("/index/noteList", Reply.fixture(200, JSON, "note-list.json"));
+        replies.put("/index/getNoticeBid/2024030100001", Reply.fixture(200, JSON, "notice-detail.json"));
+        replies.put("/index/getNoticeBid/2024030100002", Reply.fixture(500, HTML, "verify-page.html"));
+
+        List<BiddingAnnouncement> announcements = service.crawlAnnouncements(TYPE, true, -1);
+
+        assertThat(announcements).hasSize(2);
+        assertThat(announcements.get(1).getProjectName()).isEqualTo("国网某省电力公司2024年第一批服务招标");
+        assertThat(announcements.get(1).getTenderer()).isNull();
+        verify(seleniumCrawlerService, never()).crawlAnnouncements(eq(TYPE), anyBoolean(), anyInt());
+    }
+
+    @Test
+    void fallsBackWhenListReturnsVerificationPage() {
+        replies.put("/index/noteList", Reply.fixture(200, HTML, "verify-page.html"));
+
+        service.crawlAnnouncements(TYPE, true, -1);
+
+        verify(seleniumCrawlerService).crawlAnnouncements(TYPE, true, -1);
+    }
+
+    @Test
+    void fallsBackWhenListReturnsNon200() {
+        replies.put("/index/noteList", new Reply(503, JSON, "{}"));
+
+        service.crawlAnnouncements(TYPE, false, 10);
+
+        verify(seleniumCrawlerService).crawlAnnouncements(TYPE, false, 10);
+    }
+
+    @Test
+    void fallsBackWhenNoDetailCanBeParsed() {
+        replies.put("/index/noteList", Reply.fixture(200, JSON, "note-list.json"));
+        replies.put("/index/getNoticeBid/2024030100001", Reply.fixture(200, HTML, "verify-page.html"));
+        replies.put("/index/getNoticeBid/2024030100002", new Reply(403, JSON, "{}"));
+
+        service.crawlAnnouncements(TYPE, true, -1);
+
+        verify(seleniumCrawlerService).crawlAnnouncements(TYPE, true, -1);
+    }
+
+    @Test
+    void usesSeleniumForTypesWithoutMenuId() {
+        service.crawlAnnouncements(AnnouncementType.PROCUREMENT, true, -1);
+
+        verify(seleniumCrawlerService).crawlAnnouncements(AnnouncementType.PROCUREMENT, true, -1);
+    }
+
+    @Test
+    void savesHttpResultsIgnoringMissingFields() {
+        replies.put("/index/noteList", Reply.fixture(200, JSON, "note-list.json"));
+        replies.put("/index/getNoticeBid/2024030100001", Reply.fixture(200, JSON, "notice-detail.json"));
+        replies.put("/index/getNoticeBid/2024030100002", Reply.fixture(200, JSON, "notice-detail.json"));
+
+        service.manualCrawlAndSave(TYPE);
+
+        verify(storeService).saveWithDedup(anyList(), eq(TYPE), eq(true));
+        verify(seleniumCrawlerService, never()).manualCrawlAndSave(any());
+    }
+
+    @Test
+    void delegatesSaveToSeleniumWhenFallingBack() {
+        replies.put("/index/noteList", Reply.fixture(200, HTML, "verify-page.html"));
+
+        service.manualCrawlAndSave(TYPE);
+        service.testCrawlAndSave(TYPE, 5);
+        service.testCrawlAndSave(AnnouncementType.PROCUREMENT, 5);
+
+        verify(seleniumCrawlerService).manualCrawlAndSave(TYPE);
+        verify(seleniumCrawlerService).testCrawlAndSave(TYPE, 5);
+        verify(seleniumCrawlerService).testCrawlAndSave(AnnouncementType.PROCUREMENT, 5);
+        verify(storeService, never()).saveWithDedup(anyList(), any(), anyBoolean());
+    }
+
+    /**
+     * 列表请求按路径应答；详情请求体即 docId，按 路径/docId 应答；未登记的请求返回404
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Reply reply = path.endsWith("/getNoticeBid") ? replies.get(path + "/" + body) : replies.get(path);
+        if (reply == null) {
+            reply = new Reply(404, JSON, "{}");
+        }
+        byte[] bytes = reply.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", reply.contentType);
+        exchange.sendResponseHeaders(reply.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private record Reply(int status, String contentType, String body) {
+
+        static Reply fixture(int status, String contentType, String name) {
+            try (InputStream in = HttpAnnouncementCrawlerServiceImplTest.class.getClassLoader()
+                    .getResourceAsStream("fixtures/http/" + name)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("缺少测试响应: " + name);
+                }
+                return new Reply(status, contentType, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.sgcc.crawler.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 钉钉机器人发送测试
+ * 以本地 HttpServer 充当 webhook，验证成功/errcode非0/HTTP错误状态的判定以及缓存 Mac 生成的签名
+ */
+class DingTalkUtilTest {
+
+    private static final String SECRET = "SECtest0123456789";
+
+    /**
+     * 收到的请求：查询参数与请求体
+     */
+    private final List<Map<String, String>> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private String webhook;
+    private volatile int status = 200;
+    private volatile String reply = "{\"errcode\":0,\"errmsg\":\"ok\"}";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/robot/send", this::handle);
+        server.start();
+        webhook = "http://127.0.0.1:" + server.getAddress().getPort() + "/robot/send?access_token=test";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsMessageAndAcceptsZeroErrcode() {
+        assertThat(DingTalkUtil.sendMarkdown(webhook, null, "标题", "### 内容")).isTrue();
+
+        assertThat(requests).hasSize(1);
+        Map<String, String> request = requests.get(0);
+        assertThat(request).doesNotContainKeys("timestamp", "sign");
+        assertThat(request.get("body")).contains("\"msgtype\":\"markdown\"").contains("### 内容");
+    }
+
+    @Test
+    void reportsFailureWhenErrcodeIsNotZero() {
+        reply = "{\"errmsg\":\"errcode\\\":0 is not ok\",\"data\":{\"errcode\":0},\"errcode\":310000}";
+
+        assertThat(DingTalkUtil.sendText(webhook, null, "内容")).isFalse();
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void reportsFailureOnHttpErrorStatus() {
+        status = 502;
+
+        assertThat(DingTalkUtil.sendText(webhook, null, "内容")).isFalse();
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void signsEveryRequestWithCachedMac() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(DingTalkUtil.sendText(webhook, SECRET, "内容" + i)).isTrue();
+        }
+
+        assertThat(requests).hasSize(3);
+        for (Map<String, String> request : requests) {
+            // 复用的 Mac 每次 doFinal 后已重置，签名须与新建 Mac 的计算结果一致
+            assertThat(request.get("sign")).isEqualTo(expectedSign(request.get("timestamp")));
+        }
+    }
+
+    @Test
+    void readsOnlyTopLevelErrcode() {
+        assertThat(DingTalkUtil.parseErrcode("{\"errcode\":0,\"errmsg\":\"ok\"}")).isZero();
+        assertThat(DingTalkUtil.parseErrcode("{ \"errmsg\" : \"ok\" , \"errcode\" : -1 }")).isEqualTo(-1);
+        assertThat(DingTalkUtil.parseErrcode("{\"data\":[{\"errcode\":0}],\"errcode\":130101}")).isEqualTo(130101);
+        assertThat(DingTalkUtil.parseErrcode("{\"errmsg\":\"\\\"errcode\\\":0\"}")).isEqualTo(-1);
+        assertThat(DingTalkUtil.parseErrcode("{\"errcode\":\"0\"}")).isEqualTo(-1);
+        assertThat(DingTalkUtil.parseErrcode("<html>502 Bad Gateway</html>")).isEqualTo(-1);
+        assertThat(DingTalkUtil.parseErrcode("")).isEqualTo(-1);
+        assertThat(DingTalkUtil.parseErrcode(null)).isEqualTo(-1);
+    }
+
+    private static String expectedSign(String timestamp) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signData = mac.doFinal((timestamp + "\n" + SECRET).getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(signData);
+    }
+
+    /**
+     * 记录查询参数（已解码）与请求体，按当前设定的状态码应答
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, String> request = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                request.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            request.put("body", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        requests.add(request);
+
+        byte[] bytes = reply.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}